@@ -18,6 +18,7 @@
 
 import org.gradle.internal.service.scopes.Scope;
 import org.gradle.internal.service.scopes.ServiceScope;
+import org.gradle.internal.snapshot.FileSystemLocationSnapshot;
 
 import java.io.File;
 
@@ -26,6 +27,14 @@ public interface ImmutableWorkspaceMetadataStore {
 
     ImmutableWorkspaceMetadata loadWorkspaceMetadata(File workspace);
 
+    /**
+     * Loads the metadata of the given workspace, using a snapshot of the workspace that has already been taken.
+     * Implementations can use the snapshot to avoid reading the metadata again when it has not changed.
+     */
+    default ImmutableWorkspaceMetadata loadWorkspaceMetadata(File workspace, FileSystemLocationSnapshot workspaceSnapshot) {
+        return loadWorkspaceMetadata(workspace);
+    }
+
     void storeWorkspaceMetadata(File workspace, ImmutableWorkspaceMetadata metadata);
 
 }
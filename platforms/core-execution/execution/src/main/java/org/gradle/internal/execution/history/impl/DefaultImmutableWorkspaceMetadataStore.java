@@ -16,15 +16,21 @@
 
 package org.gradle.internal.execution.history.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableListMultimap;
 import org.gradle.caching.internal.origin.OriginMetadata;
 import org.gradle.internal.execution.history.ImmutableWorkspaceMetadata;
 import org.gradle.internal.execution.history.ImmutableWorkspaceMetadataStore;
+import org.gradle.internal.file.FileType;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.serialize.HashCodeSerializer;
 import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
 import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+import org.gradle.internal.snapshot.DirectorySnapshot;
+import org.gradle.internal.snapshot.FileSystemLocationSnapshot;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -35,8 +41,39 @@
 
 public class DefaultImmutableWorkspaceMetadataStore implements ImmutableWorkspaceMetadataStore {
     private static final String METADATA_FILE = "metadata.bin";
+    private static final int MAX_CACHED_METADATA = 10000;
     private final HashCodeSerializer hashCodeSerializer = new HashCodeSerializer();
     private final OriginMetadataSerializer originMetadataSerializer = new OriginMetadataSerializer();
+    // Keyed by the content hash of the metadata file, so entries never go stale
+    private final Cache<HashCode, ImmutableWorkspaceMetadata> metadataByContentHash = CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_METADATA)
+        .build();
+
+    @Override
+    public ImmutableWorkspaceMetadata loadWorkspaceMetadata(File workspace, FileSystemLocationSnapshot workspaceSnapshot) {
+        HashCode metadataHash = findMetadataHash(workspaceSnapshot);
+        if (metadataHash == null) {
+            return loadWorkspaceMetadata(workspace);
+        }
+        ImmutableWorkspaceMetadata metadata = metadataByContentHash.getIfPresent(metadataHash);
+        if (metadata == null) {
+            metadata = loadWorkspaceMetadata(workspace);
+            metadataByContentHash.put(metadataHash, metadata);
+        }
+        return metadata;
+    }
+
+    @Nullable
+    private static HashCode findMetadataHash(FileSystemLocationSnapshot workspaceSnapshot) {
+        if (workspaceSnapshot instanceof DirectorySnapshot) {
+            for (FileSystemLocationSnapshot child : ((DirectorySnapshot) workspaceSnapshot).getChildren()) {
+                if (child.getName().equals(METADATA_FILE) && child.getType() == FileType.RegularFile) {
+                    return child.getHash();
+                }
+            }
+        }
+        return null;
+    }
 
     @Override
     public ImmutableWorkspaceMetadata loadWorkspaceMetadata(File workspace) {
@@ -44,6 +44,7 @@
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.CheckReturnValue;
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -126,7 +127,7 @@ private Optional<WorkspaceResult> loadImmutableWorkspaceIfExists(UnitOfWork work
         FileSystemLocationSnapshot workspaceSnapshot = fileSystemAccess.read(immutableLocation.getAbsolutePath());
         switch (workspaceSnapshot.getType()) {
             case Directory:
-                return loadImmutableWorkspaceIfConsistent(work, workspace);
+                return loadImmutableWorkspaceIfConsistent(work, workspace, workspaceSnapshot);
             case RegularFile:
                 throw new IllegalStateException(
                     "Immutable workspace is occupied by a file: " + immutableLocation.getAbsolutePath() + ". " +
@@ -138,13 +139,15 @@ private Optional<WorkspaceResult> loadImmutableWorkspaceIfExists(UnitOfWork work
         }
     }
 
-    private Optional<WorkspaceResult> loadImmutableWorkspaceIfConsistent(UnitOfWork work, ImmutableWorkspace workspace) {
+    private Optional<WorkspaceResult> loadImmutableWorkspaceIfConsistent(UnitOfWork work, ImmutableWorkspace workspace, @Nullable FileSystemLocationSnapshot workspaceSnapshot) {
         File immutableLocation = workspace.getImmutableLocation();
         ImmutableSortedMap<String, FileSystemSnapshot> outputSnapshots = outputSnapshotter.snapshotOutputs(work, immutableLocation);
 
         // Verify output hashes
         ImmutableListMultimap<String, HashCode> outputHashes = calculateOutputHashes(outputSnapshots);
-        ImmutableWorkspaceMetadata metadata = workspaceMetadataStore.loadWorkspaceMetadata(immutableLocation);
+        ImmutableWorkspaceMetadata metadata = workspaceSnapshot == null
+            ? workspaceMetadataStore.loadWorkspaceMetadata(immutableLocation)
+            : workspaceMetadataStore.loadWorkspaceMetadata(immutableLocation, workspaceSnapshot);
         if (!metadata.getOutputPropertyHashes().equals(outputHashes)) {
             return workspace.withTemporaryWorkspace(temporaryWorkspace -> {
                 moveInconsistentImmutableWorkspaceToTemporaryLocation(immutableLocation, temporaryWorkspace, outputSnapshots);
@@ -277,7 +280,7 @@ public WorkspaceResult executeMoveOr(Function<FileSystemException, WorkspaceResu
                 if (immutableLocation.isDirectory()) {
                     LOGGER.debug("Could not move temporary workspace ({}) to immutable location ({}), assuming it was moved in place concurrently",
                         temporaryWorkspace.getAbsolutePath(), immutableLocation.getAbsolutePath(), moveWorkspaceException);
-                    return loadImmutableWorkspaceIfConsistent(work, workspace)
+                    return loadImmutableWorkspaceIfConsistent(work, workspace, null)
                         // If we found a consistent workspace, we can use it
                         .map(result -> {
                             removeTemporaryWorkspace();
@@ -17,6 +17,7 @@
 package org.gradle.internal.execution.history.impl
 
 import com.google.common.collect.ImmutableListMultimap
+import org.gradle.api.internal.file.TestFiles
 import org.gradle.caching.internal.origin.OriginMetadata
 import org.gradle.internal.execution.history.ImmutableWorkspaceMetadata
 import org.gradle.internal.hash.HashCode
@@ -56,4 +57,19 @@ class DefaultImmutableWorkspaceMetadataStoreTest extends Specification {
         then:
         loadedMetadata == metadata
     }
+
+    def "reuses metadata loaded for a workspace snapshot while the metadata file is unchanged"() {
+        def metadata = new ImmutableWorkspaceMetadata(new OriginMetadata("test-invocation-id", hashCodeFrom(0x4567), Duration.ofSeconds(123)), ImmutableListMultimap.of("out", hashCodeFrom(0x1234)))
+        store.storeWorkspaceMetadata(workspace, metadata)
+        def workspaceSnapshot = TestFiles.fileSystemAccess().read(workspace.absolutePath)
+
+        when:
+        def loadedMetadata = store.loadWorkspaceMetadata(workspace, workspaceSnapshot)
+        workspace.file("metadata.bin").delete()
+        def reloadedMetadata = store.loadWorkspaceMetadata(workspace, workspaceSnapshot)
+
+        then:
+        loadedMetadata == metadata
+        reloadedMetadata.is(loadedMetadata)
+    }
 }
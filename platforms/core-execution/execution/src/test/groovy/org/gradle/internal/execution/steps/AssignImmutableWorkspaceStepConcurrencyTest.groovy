@@ -46,6 +46,10 @@ class AssignImmutableWorkspaceStepConcurrencyTest extends StepSpecBase<IdentityC
             getOriginMetadata() >> Stub(OriginMetadata)
             getOutputPropertyHashes() >> ImmutableListMultimap.of()
         }
+        loadWorkspaceMetadata(_ as File, _) >> Stub(ImmutableWorkspaceMetadata) {
+            getOriginMetadata() >> Stub(OriginMetadata)
+            getOutputPropertyHashes() >> ImmutableListMultimap.of()
+        }
     }
     def outputSnapshotter = new DefaultOutputSnapshotter(TestFiles.fileCollectionSnapshotter())
 
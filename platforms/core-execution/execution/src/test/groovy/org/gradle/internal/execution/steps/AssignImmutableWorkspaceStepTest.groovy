@@ -107,7 +107,7 @@ class AssignImmutableWorkspaceStepTest extends StepSpec<IdentityContext> impleme
         1 * outputSnapshotter.snapshotOutputs(work, immutableWorkspace) >> existingOutputs
 
         then:
-        1 * immutableWorkspaceMetadataStore.loadWorkspaceMetadata(immutableWorkspace) >> Stub(ImmutableWorkspaceMetadata) {
+        1 * immutableWorkspaceMetadataStore.loadWorkspaceMetadata(immutableWorkspace, existingWorkspaceSnapshot) >> Stub(ImmutableWorkspaceMetadata) {
             getOriginMetadata() >> delegateOriginMetadata
             getOutputPropertyHashes() >> ImmutableListMultimap.of("output", outputFileSnapshot.hash)
         }
@@ -302,7 +302,7 @@ class AssignImmutableWorkspaceStepTest extends StepSpec<IdentityContext> impleme
 
         then:
         1 * outputSnapshotter.snapshotOutputs(work, immutableWorkspace) >> inconsistentOutputFiles
-        1 * immutableWorkspaceMetadataStore.loadWorkspaceMetadata(immutableWorkspace) >> Stub(ImmutableWorkspaceMetadata) {
+        1 * immutableWorkspaceMetadataStore.loadWorkspaceMetadata(immutableWorkspace, _ as DirectorySnapshot) >> Stub(ImmutableWorkspaceMetadata) {
             getOriginMetadata() >> originMetadata
             getOutputPropertyHashes() >> ImmutableListMultimap.of("output", originalOutputFileSnapshot.hash)
         }
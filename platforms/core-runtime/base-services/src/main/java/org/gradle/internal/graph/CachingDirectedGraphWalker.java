@@ -18,6 +18,7 @@
 
 import org.gradle.util.internal.GUtil;
 
+import javax.annotation.Nullable;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -93,6 +94,11 @@ public List<Set<N>> findCycles() {
     }
 
     private Set<T> doSearch() {
+        Set<T> cachedValues = findCachedValues();
+        if (cachedValues != null) {
+            return cachedValues;
+        }
+
         int componentCount = 0;
         Map<N, NodeDetails<N, T>> seenNodes = new HashMap<N, NodeDetails<N, T>>();
         Map<Integer, NodeDetails<N, T>> components = new HashMap<Integer, NodeDetails<N, T>>();
@@ -179,6 +185,23 @@ private Set<T> doSearch() {
         return values;
     }
 
+    /**
+     * Returns the values for the start nodes when all of them have been visited by a previous search, or null when a traversal is required.
+     * Avoids allocating the traversal state for the common case of repeatedly asking for the same nodes.
+     */
+    @Nullable
+    private Set<T> findCachedValues() {
+        Set<T> values = new LinkedHashSet<T>();
+        for (N startNode : startNodes) {
+            Set<T> nodeValues = cachedNodeValues.get(startNode);
+            if (nodeValues == null) {
+                return null;
+            }
+            values.addAll(nodeValues);
+        }
+        return values;
+    }
+
     private static class NodeDetails<N, T> {
         private final int component;
         private final N node;
@@ -28,5 +28,12 @@ public enum BuildOperationConstraint {
     /**
      * Unconstrained execution allowing as many threads as required to a maximum of 10 times the configured workers.
      */
-    UNCONSTRAINED
+    UNCONSTRAINED,
+
+    /**
+     * Execution of operations that spend most of their time blocked waiting for I/O, such as network transfers.
+     * These operations do not hold a worker lease while running, and so are not constrained by the configured maximum number of workers.
+     * At most 10 times the configured workers run concurrently, on virtual threads when these are available and enabled.
+     */
+    IO_BOUND
 }
@@ -25,7 +25,7 @@ public LeaseHolder(int maxWorkerCount) {
     }
 
     public boolean grantLease() {
-        if (leasesInUse >= maxWorkerCount) {
+        if (leasesInUse >= getLeaseLimit()) {
             return false;
         }
         leasesInUse++;
@@ -35,4 +35,15 @@ public boolean grantLease() {
     public void releaseLease() {
         leasesInUse--;
     }
+
+    public int getLeasesInUse() {
+        return leasesInUse;
+    }
+
+    /**
+     * Returns the number of leases that can currently be granted.
+     */
+    protected int getLeaseLimit() {
+        return maxWorkerCount;
+    }
 }
@@ -21,6 +21,8 @@
 import org.gradle.api.specs.Spec;
 import org.gradle.internal.Factories;
 import org.gradle.internal.Factory;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.resources.AbstractResourceLockRegistry;
 import org.gradle.internal.resources.DefaultLease;
@@ -40,6 +42,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -54,17 +57,29 @@
 
 public class DefaultWorkerLeaseService implements WorkerLeaseService, ProjectParallelExecutionController, Stoppable {
     public static final String PROJECT_LOCK_STATS_PROPERTY = "org.gradle.internal.project.lock.stats";
+    /**
+     * The maximum number of worker leases to grant in addition to the configured maximum number of workers, when the lease holders are mostly blocked and the CPU is idle.
+     * No additional leases are granted when not set.
+     */
+    public static final String OVERCOMMIT_PROPERTY = "org.gradle.internal.worker.lease.overcommit";
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultWorkerLeaseService.class);
 
     private final WorkerLimits workerLimits;
     private final ResourceLockCoordinationService coordinationService;
+    private final ExecutorFactory executorFactory;
     private final WorkerLeaseLockRegistry workerLeaseLockRegistry;
     private final ProjectLockStatisticsImpl projectLockStatistics = new ProjectLockStatisticsImpl();
     private final AtomicReference<Registries> registries = new AtomicReference<Registries>(new NoRegistries());
 
     public DefaultWorkerLeaseService(ResourceLockCoordinationService coordinationService, WorkerLimits workerLimits) {
+        this(coordinationService, workerLimits, new DefaultExecutorFactory());
+    }
+
+    @Inject
+    public DefaultWorkerLeaseService(ResourceLockCoordinationService coordinationService, WorkerLimits workerLimits, ExecutorFactory executorFactory) {
         this.workerLimits = workerLimits;
         this.coordinationService = coordinationService;
+        this.executorFactory = executorFactory;
         this.workerLeaseLockRegistry = new WorkerLeaseLockRegistry(coordinationService);
         LOGGER.info("Using {} worker leases.", this.workerLimits.getMaxWorkerCount());
     }
@@ -149,20 +164,38 @@ public Synchronizer newResource() {
 
     @Override
     public void stop() {
-        coordinationService.withStateLock(new Runnable() {
-            @Override
-            public void run() {
-                if (workerLeaseLockRegistry.hasOpenLocks()) {
-                    throw new IllegalStateException("Some worker leases have not been marked as completed.");
+        try {
+            coordinationService.withStateLock(new Runnable() {
+                @Override
+                public void run() {
+                    if (workerLeaseLockRegistry.hasOpenLocks()) {
+                        throw new IllegalStateException("Some worker leases have not been marked as completed.");
+                    }
                 }
+            });
+        } finally {
+            if (workerLeaseLockRegistry.root instanceof Stoppable) {
+                ((Stoppable) workerLeaseLockRegistry.root).stop();
             }
-        });
+        }
 
         if (projectLockStatistics.isEnabled()) {
             LOGGER.warn("Time spent waiting on project locks: " + projectLockStatistics.getTotalWaitTimeMillis() + "ms");
         }
     }
 
+    private LeaseHolder createWorkerLeaseHolder() {
+        int maxAdditionalLeases = Integer.getInteger(OVERCOMMIT_PROPERTY, 0);
+        if (maxAdditionalLeases > 0) {
+            if (OvercommittingLeaseHolder.isSupported()) {
+                LOGGER.info("Using up to {} additional worker leases when workers are blocked.", maxAdditionalLeases);
+                return new OvercommittingLeaseHolder(getMaxWorkerCount(), maxAdditionalLeases, coordinationService, executorFactory);
+            }
+            LOGGER.info("Not using additional worker leases, as thread CPU time measurement is not available.");
+        }
+        return new LeaseHolder(getMaxWorkerCount());
+    }
+
     @Override
     public boolean getAllowsParallelExecution() {
         return registries.get().getProjectLockRegistry().getAllowsParallelExecution();
@@ -493,7 +526,7 @@ public void run() {
     }
 
     private class WorkerLeaseLockRegistry extends AbstractResourceLockRegistry<String, DefaultWorkerLease> {
-        private final LeaseHolder root = new LeaseHolder(getMaxWorkerCount());
+        private final LeaseHolder root = createWorkerLeaseHolder();
 
         WorkerLeaseLockRegistry(ResourceLockCoordinationService coordinationService) {
             super(coordinationService);
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.work;
+
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedScheduledExecutor;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.resources.LeaseHolder;
+import org.gradle.internal.resources.ResourceLockCoordinationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link LeaseHolder} for worker leases that can grant more leases than the configured maximum when the lease holders are mostly blocked.
+ *
+ * <p>A scheduled executor periodically samples the CPU time used by the threads holding a lease, and uses a {@link WorkerLeaseOvercommitPolicy} to decide how many
+ * additional leases to grant. All state is guarded by the state lock of the coordination service.</p>
+ */
+class OvercommittingLeaseHolder extends LeaseHolder implements Stoppable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OvercommittingLeaseHolder.class);
+    private static final long SAMPLE_INTERVAL_MILLIS = 200;
+
+    private final int maxWorkerCount;
+    private final ResourceLockCoordinationService coordinationService;
+    private final WorkerLeaseOvercommitPolicy policy;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final SystemCpuLoad systemCpuLoad = new SystemCpuLoad();
+    private final Map<Thread, Holder> holders = new HashMap<>();
+    private final ManagedScheduledExecutor monitor;
+    private int additionalLeases;
+    private int maxAdditionalLeasesGranted;
+    private long lastSampleTime = System.nanoTime();
+
+    OvercommittingLeaseHolder(int maxWorkerCount, int maxAdditionalLeases, ResourceLockCoordinationService coordinationService, ExecutorFactory executorFactory) {
+        super(maxWorkerCount);
+        this.maxWorkerCount = maxWorkerCount;
+        this.coordinationService = coordinationService;
+        this.policy = new WorkerLeaseOvercommitPolicy(maxWorkerCount, maxAdditionalLeases);
+        this.monitor = executorFactory.createScheduled("Worker lease monitor", 1);
+        monitor.scheduleAtFixedRate(() -> coordinationService.withStateLock(this::sample), SAMPLE_INTERVAL_MILLIS, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    static boolean isSupported() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        return threadMXBean.isThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled();
+    }
+
+    @Override
+    protected int getLeaseLimit() {
+        return maxWorkerCount + additionalLeases;
+    }
+
+    @Override
+    public boolean grantLease() {
+        if (!super.grantLease()) {
+            return false;
+        }
+        Thread thread = Thread.currentThread();
+        Holder holder = holders.get(thread);
+        if (holder == null) {
+            holders.put(thread, new Holder(threadMXBean.getCurrentThreadCpuTime()));
+        } else {
+            holder.leases++;
+        }
+        return true;
+    }
+
+    @Override
+    public void releaseLease() {
+        super.releaseLease();
+        Thread thread = Thread.currentThread();
+        Holder holder = holders.get(thread);
+        if (holder != null && --holder.leases == 0) {
+            holders.remove(thread);
+        }
+    }
+
+    @Override
+    public void stop() {
+        monitor.stop();
+        if (maxAdditionalLeasesGranted > 0) {
+            LOGGER.info("Granted up to {} additional worker leases.", maxAdditionalLeasesGranted);
+        }
+    }
+
+    private void sample() {
+        long now = System.nanoTime();
+        long elapsed = now - lastSampleTime;
+        lastSampleTime = now;
+        if (elapsed <= 0) {
+            return;
+        }
+
+        long cpuTime = 0;
+        for (Map.Entry<Thread, Holder> entry : holders.entrySet()) {
+            Holder holder = entry.getValue();
+            long current = threadMXBean.getThreadCpuTime(entry.getKey().getId());
+            if (current >= 0) {
+                cpuTime += Math.max(0, current - holder.cpuTime);
+                holder.cpuTime = current;
+            }
+        }
+
+        int previous = additionalLeases;
+        additionalLeases = policy.update(getLeasesInUse(), (double) cpuTime / elapsed, systemCpuLoad.get());
+        if (additionalLeases != previous) {
+            LOGGER.debug("Using {} additional worker leases ({} leases in use, {}ms CPU time used by lease holders in the last {}ms).",
+                additionalLeases, getLeasesInUse(), TimeUnit.NANOSECONDS.toMillis(cpuTime), TimeUnit.NANOSECONDS.toMillis(elapsed));
+            maxAdditionalLeasesGranted = Math.max(maxAdditionalLeasesGranted, additionalLeases);
+        }
+        if (additionalLeases > previous) {
+            // Wake up any threads waiting for a lease
+            coordinationService.notifyStateChange();
+        }
+    }
+
+    private static class Holder {
+        int leases = 1;
+        long cpuTime;
+
+        Holder(long cpuTime) {
+            this.cpuTime = cpuTime;
+        }
+    }
+
+    /**
+     * Queries the CPU load of the whole machine. This uses a JDK specific API, so is accessed reflectively.
+     */
+    private static class SystemCpuLoad {
+        private final OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+        @Nullable
+        private final Method getSystemCpuLoad;
+
+        SystemCpuLoad() {
+            Method method = null;
+            try {
+                Class<?> type = Class.forName("com.sun.management.OperatingSystemMXBean");
+                if (type.isInstance(operatingSystem)) {
+                    method = type.getMethod("getSystemCpuLoad");
+                }
+            } catch (Exception e) {
+                // Not available
+            }
+            this.getSystemCpuLoad = method;
+        }
+
+        double get() {
+            if (getSystemCpuLoad == null) {
+                return -1;
+            }
+            try {
+                return (Double) getSystemCpuLoad.invoke(operatingSystem);
+            } catch (Exception e) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.work;
+
+/**
+ * Decides how many worker leases can be granted beyond the configured maximum number of workers.
+ *
+ * <p>When all leases are in use but the threads holding them are mostly blocked, for example waiting for a remote cache
+ * or an artifact download, the CPU sits idle. In this case, additional leases are granted one at a time, up to a ceiling.
+ * All additional leases are withdrawn as soon as the lease holders keep the configured number of workers busy, or the machine is
+ * busy for some other reason. Withdrawing a lease does not interrupt its holder, it only prevents new leases from being granted.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+class WorkerLeaseOvercommitPolicy {
+    /**
+     * Weight of the most recent sample in the moving average of busy workers.
+     */
+    private static final double SMOOTHING = 0.5;
+    /**
+     * Do not overcommit when the machine as a whole is at least this busy.
+     */
+    private static final double MAX_SYSTEM_CPU_LOAD = 0.8;
+
+    private final int maxWorkers;
+    private final int maxAdditionalLeases;
+    private double busyWorkers = -1;
+    private int additionalLeases;
+
+    WorkerLeaseOvercommitPolicy(int maxWorkers, int maxAdditionalLeases) {
+        this.maxWorkers = maxWorkers;
+        this.maxAdditionalLeases = maxAdditionalLeases;
+    }
+
+    int getAdditionalLeases() {
+        return additionalLeases;
+    }
+
+    /**
+     * Updates the policy with a new sample and returns the number of additional leases to grant.
+     *
+     * @param leasesInUse the number of leases currently granted.
+     * @param busyWorkers the CPU time used by the lease holders during the sample interval, divided by the length of the interval.
+     * @param systemCpuLoad the CPU load of the whole machine during the sample interval, between 0 and 1, or a negative value when not known.
+     */
+    int update(int leasesInUse, double busyWorkers, double systemCpuLoad) {
+        this.busyWorkers = this.busyWorkers < 0 ? busyWorkers : SMOOTHING * busyWorkers + (1 - SMOOTHING) * this.busyWorkers;
+
+        boolean systemBusy = systemCpuLoad >= MAX_SYSTEM_CPU_LOAD;
+        if (systemBusy || this.busyWorkers >= maxWorkers || leasesInUse < maxWorkers) {
+            // Either the CPU is busy, or leases are available without overcommitting
+            additionalLeases = 0;
+        } else {
+            boolean saturated = leasesInUse >= maxWorkers + additionalLeases;
+            double idleWorkers = maxWorkers - this.busyWorkers;
+            if (saturated && idleWorkers >= 1 && additionalLeases < maxAdditionalLeases) {
+                additionalLeases++;
+            }
+        }
+        return additionalLeases;
+    }
+}
@@ -282,4 +282,33 @@ class CachingDirectedGraphWalkerTest extends Specification {
         then:
         values == ['1', '2', '3', '4'] as Set
     }
+
+    def doesNotVisitGraphWhenAllStartNodesHaveBeenVisitedByPreviousSearch() {
+        when:
+        walker.add(1)
+        walker.findValues()
+
+        then:
+        1 * graph.getNodeValues(1, _, _) >> { args -> args[1] << '1'; args[2] << 2 }
+        1 * graph.getNodeValues(2, _, _) >> { args -> args[1] << '2' }
+        1 * graph.getEdgeValues(_, _, _)
+        0 * _._
+
+        when:
+        walker.add(2, 1)
+        def values = walker.findValues()
+
+        then:
+        0 * _._
+        values == ['2', '1'] as Set
+
+        when:
+        values << '3'
+        walker.add(1)
+        values = walker.findValues()
+
+        then:
+        0 * _._
+        values == ['1', '2'] as Set
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.work
+
+import spock.lang.Specification
+
+class WorkerLeaseOvercommitPolicyTest extends Specification {
+    def policy = new WorkerLeaseOvercommitPolicy(4, 2)
+
+    def "grants additional leases one at a time up to the ceiling when all leases are in use and the holders are blocked"() {
+        expect:
+        policy.update(4, 0.5, 0.1) == 1
+        policy.update(5, 0.5, 0.1) == 2
+        policy.update(6, 0.5, 0.1) == 2
+    }
+
+    def "does not grant additional leases when leases are still available"() {
+        expect:
+        policy.update(3, 0.0, 0.1) == 0
+    }
+
+    def "does not grant more additional leases until the current ones are in use"() {
+        expect:
+        policy.update(4, 0.5, 0.1) == 1
+        policy.update(4, 0.5, 0.1) == 1
+    }
+
+    def "does not grant additional leases when the lease holders are busy"() {
+        expect:
+        policy.update(4, 3.5, 0.1) == 0
+    }
+
+    def "withdraws additional leases when the lease holders become busy"() {
+        expect:
+        policy.update(4, 0.0, 0.1) == 1
+        policy.update(5, 0.0, 0.1) == 2
+        policy.update(6, 10.0, 0.1) == 0
+    }
+
+    def "does not grant additional leases when the machine is busy"() {
+        expect:
+        policy.update(4, 0.0, 0.9) == 0
+    }
+
+    def "grants additional leases when the machine load is not known"() {
+        expect:
+        policy.update(4, 0.0, -1) == 1
+    }
+}
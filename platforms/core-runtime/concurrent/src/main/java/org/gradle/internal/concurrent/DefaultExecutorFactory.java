@@ -24,6 +24,7 @@
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -90,6 +91,18 @@ protected ExecutorService createExecutor(String displayName, int fixedSize) {
         return Executors.newFixedThreadPool(fixedSize, newThreadFactory(displayName));
     }
 
+    @Override
+    public ManagedExecutor createForBlockingActions(String displayName) {
+        if (!VirtualThreads.isEnabled()) {
+            return create(displayName);
+        }
+        // Virtual threads are cheap to create and should not be pooled, so use a new thread for each action
+        ThreadPoolExecutor executorService = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), VirtualThreads.newThreadFactory(displayName, threadFactoryContextClassloader));
+        ManagedExecutor executor = new TrackedManagedExecutor(executorService, new ExecutorPolicy.CatchAndRecordFailures());
+        executors.add(executor);
+        return executor;
+    }
+
     @Override
     public ManagedScheduledExecutor createScheduled(String displayName, int fixedSize) {
         ManagedScheduledExecutor executor = new TrackedScheduledManagedExecutor(createScheduledExecutor(displayName, fixedSize), new ExecutorPolicy.CatchAndRecordFailures());
@@ -44,6 +44,19 @@ public interface ExecutorFactory {
      */
     ManagedExecutor create(String displayName, int fixedSize);
 
+    /**
+     * Creates an executor for actions that spend most of their time blocked, for example waiting for network I/O. It is the caller's responsibility to stop the executor
+     * and to limit the number of actions that run concurrently.
+     *
+     * When virtual threads are available and enabled, each action runs in its own virtual thread. Otherwise, this is the same as {@link #create(String)}.
+     *
+     * The executor will collect failures thrown by actions and rethrow when the executor is stopped.
+     *
+     * @param displayName The display name for this executor. Used for thread names, logging and error message.
+     * @return The executor.
+     */
+    ManagedExecutor createForBlockingActions(String displayName);
+
     /**
      * Creates an executor which can run multiple tasks concurrently. It is the caller's responsibility to stop the executor.
      *
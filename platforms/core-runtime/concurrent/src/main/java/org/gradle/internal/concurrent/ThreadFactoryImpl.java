@@ -36,12 +36,16 @@ public ThreadFactoryImpl(String displayName, @Nullable ClassLoader contextClassl
 
     @Override
     public Thread newThread(Runnable r) {
-        Thread thread = new Thread(r);
+        Thread thread = createThread(r);
         thread.setName(nextThreadName());
         thread.setContextClassLoader(contextClassloader);
         return thread;
     }
 
+    protected Thread createThread(Runnable r) {
+        return new Thread(r);
+    }
+
     private String nextThreadName() {
         long count = counter.incrementAndGet();
         return count == 1 ? displayName : displayName + " Thread " + count;
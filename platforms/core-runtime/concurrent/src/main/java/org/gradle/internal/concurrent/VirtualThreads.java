@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.concurrent;
+
+import org.gradle.internal.UncheckedException;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Provides access to virtual threads on JVMs that support them.
+ *
+ * <p>This code runs on JVMs that predate virtual threads, so the API is accessed reflectively.
+ * Virtual threads are only used when the JVM supports them and the {@value #ENABLED_PROPERTY} system property is set to {@code true}.</p>
+ */
+class VirtualThreads {
+    static final String ENABLED_PROPERTY = "org.gradle.internal.concurrent.virtual-threads";
+
+    @Nullable
+    private static final Method OF_VIRTUAL;
+    @Nullable
+    private static final Method UNSTARTED;
+
+    static {
+        Method ofVirtual = null;
+        Method unstarted = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+            // Fails on JVMs where virtual threads are a preview feature that has not been enabled
+            ofVirtual.invoke(null);
+        } catch (Exception e) {
+            ofVirtual = null;
+            unstarted = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        UNSTARTED = unstarted;
+    }
+
+    static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    static boolean isEnabled() {
+        return isSupported() && Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    static ThreadFactory newThreadFactory(String displayName, @Nullable ClassLoader contextClassloader) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads are not supported by this JVM.");
+        }
+        return new ThreadFactoryImpl(displayName, contextClassloader) {
+            @Override
+            protected Thread createThread(Runnable r) {
+                return newUnstartedThread(r);
+            }
+        };
+    }
+
+    private static Thread newUnstartedThread(Runnable r) {
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            return (Thread) UNSTARTED.invoke(builder, r);
+        } catch (InvocationTargetException e) {
+            throw UncheckedException.unwrapAndRethrow(e);
+        } catch (IllegalAccessException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+}
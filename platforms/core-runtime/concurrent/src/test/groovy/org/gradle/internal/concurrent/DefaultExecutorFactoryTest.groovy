@@ -59,6 +59,28 @@ class DefaultExecutorFactoryTest extends ConcurrentSpec {
         executor?.stop()
     }
 
+    def blockingActionsExecutorRunsActionsConcurrently() {
+        given:
+        def action1 = {
+            instant.started1
+            thread.blockUntil.started2
+        }
+        def action2 = {
+            instant.started2
+            thread.blockUntil.started1
+        }
+
+        when:
+        def executor = factory.createForBlockingActions('test')
+        executor.execute(action1)
+        executor.execute(action2)
+        executor.stop()
+
+        then:
+        instant.started1
+        instant.started2
+    }
+
     def stopBlocksUntilAllJobsAreComplete() {
         given:
         def action1 = {
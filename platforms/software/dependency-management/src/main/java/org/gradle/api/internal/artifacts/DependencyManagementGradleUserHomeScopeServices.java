@@ -22,6 +22,7 @@
 import org.gradle.api.internal.artifacts.ivyservice.ArtifactCachesProvider;
 import org.gradle.api.internal.artifacts.ivyservice.CacheLayout;
 import org.gradle.api.internal.artifacts.ivyservice.DefaultArtifactCaches;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification.CrossBuildDependencyVerifierCache;
 import org.gradle.api.internal.artifacts.transform.ImmutableTransformWorkspaceServices;
 import org.gradle.api.internal.artifacts.transform.ToPlannedTransformStepConverter;
 import org.gradle.api.internal.artifacts.transform.TransformExecutionResult;
@@ -41,6 +42,7 @@
 import org.gradle.internal.execution.workspace.ImmutableWorkspaceProvider;
 import org.gradle.internal.execution.workspace.impl.CacheBasedImmutableWorkspaceProvider;
 import org.gradle.internal.file.FileAccessTimeJournal;
+import org.gradle.internal.resource.cached.InMemoryCachedFileIndex;
 import org.gradle.internal.service.Provides;
 import org.gradle.internal.service.ServiceRegistrationProvider;
 
@@ -52,7 +54,12 @@ ToPlannedNodeConverter createToPlannedTransformStepConverter() {
     }
 
     @Provides
-    DefaultArtifactCaches.WritableArtifactCacheLockingParameters createWritableArtifactCacheLockingParameters(FileAccessTimeJournal fileAccessTimeJournal, UsedGradleVersions usedGradleVersions) {
+    InMemoryCachedFileIndex createInMemoryCachedFileIndex() {
+        return new InMemoryCachedFileIndex();
+    }
+
+    @Provides
+    DefaultArtifactCaches.WritableArtifactCacheLockingParameters createWritableArtifactCacheLockingParameters(FileAccessTimeJournal fileAccessTimeJournal, UsedGradleVersions usedGradleVersions, InMemoryCachedFileIndex cachedFileIndex) {
         return new DefaultArtifactCaches.WritableArtifactCacheLockingParameters() {
             @Override
             public FileAccessTimeJournal getFileAccessTimeJournal() {
@@ -63,6 +70,11 @@ public FileAccessTimeJournal getFileAccessTimeJournal() {
             public UsedGradleVersions getUsedGradleVersions() {
                 return usedGradleVersions;
             }
+
+            @Override
+            public InMemoryCachedFileIndex getCachedFileIndex() {
+                return cachedFileIndex;
+            }
         };
     }
 
@@ -89,6 +101,11 @@ public void buildFinished(BuildResult result) {
         return artifactCachesProvider;
     }
 
+    @Provides
+    CrossBuildDependencyVerifierCache createCrossBuildDependencyVerifierCache(CrossBuildInMemoryCacheFactory crossBuildInMemoryCacheFactory) {
+        return new CrossBuildDependencyVerifierCache(crossBuildInMemoryCacheFactory.newCacheRetainingDataFromPreviousBuild(verifier -> true));
+    }
+
     @Provides
     ImmutableTransformWorkspaceServices createTransformWorkspaceServices(
         GlobalScopedCacheBuilderFactory cacheBuilderFactory,
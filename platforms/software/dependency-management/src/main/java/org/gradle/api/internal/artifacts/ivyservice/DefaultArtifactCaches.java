@@ -28,6 +28,7 @@
 import org.gradle.cache.scopes.GlobalScopedCacheBuilderFactory;
 import org.gradle.internal.Factory;
 import org.gradle.internal.file.FileAccessTimeJournal;
+import org.gradle.internal.resource.cached.InMemoryCachedFileIndex;
 import org.gradle.internal.serialize.Serializer;
 import org.gradle.util.internal.IncubationLogger;
 
@@ -55,7 +56,7 @@ public DefaultArtifactCaches(
             CacheCleanupStrategyFactory cacheCleanupStrategyFactory) {
         writableCacheMetadata = new DefaultArtifactCacheMetadata(cacheBuilderFactory);
         writableCacheAccessCoordinator = new LateInitWritableArtifactCacheLockingAccessCoordinator(() -> {
-            return new WritableArtifactCacheLockingAccessCoordinator(unscopedCacheBuilderFactory, writableCacheMetadata, params.getFileAccessTimeJournal(), params.getUsedGradleVersions(), cacheConfigurations, cacheCleanupStrategyFactory);
+            return new WritableArtifactCacheLockingAccessCoordinator(unscopedCacheBuilderFactory, writableCacheMetadata, params.getFileAccessTimeJournal(), params.getUsedGradleVersions(), cacheConfigurations, cacheCleanupStrategyFactory, params.getCachedFileIndex());
         });
         String roCache = System.getenv(READONLY_CACHE_ENV_VAR);
         if (StringUtils.isNotEmpty(roCache)) {
@@ -132,6 +133,8 @@ public interface WritableArtifactCacheLockingParameters {
         FileAccessTimeJournal getFileAccessTimeJournal();
 
         UsedGradleVersions getUsedGradleVersions();
+
+        InMemoryCachedFileIndex getCachedFileIndex();
     }
 
     private static class LateInitWritableArtifactCacheLockingAccessCoordinator implements ArtifactCacheLockingAccessCoordinator, Closeable {
@@ -18,6 +18,7 @@
 import org.gradle.api.internal.cache.CacheConfigurationsInternal;
 import org.gradle.api.internal.filestore.DefaultArtifactIdentifierFileStore;
 import org.gradle.cache.CacheCleanupStrategyFactory;
+import org.gradle.cache.CacheDecorator;
 import org.gradle.cache.CleanupAction;
 import org.gradle.cache.FileLockManager;
 import org.gradle.cache.IndexedCache;
@@ -31,6 +32,7 @@
 import org.gradle.cache.internal.UsedGradleVersions;
 import org.gradle.internal.file.FileAccessTimeJournal;
 import org.gradle.internal.resource.cached.DefaultExternalResourceFileStore;
+import org.gradle.internal.resource.cached.InMemoryCachedFileIndex;
 import org.gradle.internal.serialize.Serializer;
 import org.gradle.internal.time.TimestampSuppliers;
 
@@ -41,6 +43,7 @@
 
 public class WritableArtifactCacheLockingAccessCoordinator implements ArtifactCacheLockingAccessCoordinator, Closeable {
     private final PersistentCache cache;
+    private final CacheDecorator cacheDecorator;
 
     public WritableArtifactCacheLockingAccessCoordinator(
             UnscopedCacheBuilderFactory unscopedCacheBuilderFactory,
@@ -48,16 +51,18 @@ public WritableArtifactCacheLockingAccessCoordinator(
             FileAccessTimeJournal fileAccessTimeJournal,
             UsedGradleVersions usedGradleVersions,
             CacheConfigurationsInternal cacheConfigurations,
-            CacheCleanupStrategyFactory cacheCleanupStrategyFactory) {
+            CacheCleanupStrategyFactory cacheCleanupStrategyFactory,
+            InMemoryCachedFileIndex cachedFileIndex) {
+        cacheDecorator = cachedFileIndex.getInvalidatingCacheDecorator();
         cache = unscopedCacheBuilderFactory
                 .cache(cacheMetaData.getCacheDir())
                 .withDisplayName("artifact cache")
                 .withInitialLockMode(FileLockManager.LockMode.OnDemand) // Don't need to lock anything until we use the caches
-                .withCleanupStrategy(cacheCleanupStrategyFactory.create(createCleanupAction(cacheMetaData, fileAccessTimeJournal, usedGradleVersions, cacheConfigurations), cacheConfigurations.getCleanupFrequency()::get))
+                .withCleanupStrategy(cacheCleanupStrategyFactory.create(createCleanupAction(cacheMetaData, fileAccessTimeJournal, usedGradleVersions, cacheConfigurations, cachedFileIndex), cacheConfigurations.getCleanupFrequency()::get))
                 .open();
     }
 
-    private CleanupAction createCleanupAction(ArtifactCacheMetadata cacheMetaData, FileAccessTimeJournal fileAccessTimeJournal, UsedGradleVersions usedGradleVersions, CacheConfigurationsInternal cacheConfigurations) {
+    private CleanupAction createCleanupAction(ArtifactCacheMetadata cacheMetaData, FileAccessTimeJournal fileAccessTimeJournal, UsedGradleVersions usedGradleVersions, CacheConfigurationsInternal cacheConfigurations, InMemoryCachedFileIndex cachedFileIndex) {
         return CompositeCleanupAction.builder()
                 .add(UnusedVersionsCacheCleanup.create(CacheLayout.MODULES.getName(), CacheLayout.MODULES.getVersionMapping(), usedGradleVersions))
                 .add(cacheMetaData.getExternalResourcesStoreDirectory(),
@@ -70,6 +75,8 @@ private CleanupAction createCleanupAction(ArtifactCacheMetadata cacheMetaData, F
                     UnusedVersionsCacheCleanup.create(CacheLayout.META_DATA.getName(), CacheLayout.META_DATA.getVersionMapping(), usedGradleVersions))
                 // Cleanup old unused 'transforms-X' directories too. Transforms are now cached in 'caches/<gradle-version>/transforms'.
                 .add(UnusedVersionsCacheCleanup.create(CacheLayout.TRANSFORMS.getName(), CacheLayout.TRANSFORMS.getVersionMapping(), usedGradleVersions))
+                // Files known to exist may have been deleted above
+                .add(cachedFileIndex.getInvalidatingCleanupAction())
                 .build();
     }
 
@@ -110,7 +117,7 @@ public void useCache(Runnable action) {
     @Override
     public <K, V> IndexedCache<K, V> createCache(String cacheName, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
         String cacheFileInMetaDataStore = CacheLayout.META_DATA.getKey() + "/" + cacheName;
-        final IndexedCache<K, V> indexedCache = cache.createIndexedCache(IndexedCacheParameters.of(cacheFileInMetaDataStore, keySerializer, valueSerializer));
+        final IndexedCache<K, V> indexedCache = cache.createIndexedCache(IndexedCacheParameters.of(cacheFileInMetaDataStore, keySerializer, valueSerializer).withCacheDecorator(cacheDecorator));
         return new CacheLockingIndexedCache<>(indexedCache);
     }
 
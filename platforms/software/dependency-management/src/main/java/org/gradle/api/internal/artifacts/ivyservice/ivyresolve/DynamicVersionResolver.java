@@ -39,6 +39,11 @@
 import org.gradle.internal.component.model.DefaultComponentOverrideMetadata;
 import org.gradle.internal.component.model.DependencyMetadata;
 import org.gradle.internal.component.model.IvyArtifactName;
+import org.gradle.internal.operations.BuildOperationConstraint;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.RunnableBuildOperation;
 import org.gradle.internal.resolve.ModuleVersionNotFoundException;
 import org.gradle.internal.resolve.ModuleVersionResolveException;
 import org.gradle.internal.resolve.RejectedByAttributesVersion;
@@ -64,6 +69,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.gradle.internal.resolve.ResolveExceptionAnalyzer.hasCriticalFailure;
 import static org.gradle.internal.resolve.ResolveExceptionAnalyzer.isCriticalFailure;
@@ -81,11 +87,15 @@ public class DynamicVersionResolver {
     private final ComponentMetadataProcessorFactory componentMetadataProcessor;
     private final ComponentMetadataSupplierRuleExecutor componentMetadataSupplierRuleExecutor;
     private final CachePolicy cachePolicy;
+    // Null when versions are listed one repository at a time
+    @Nullable
+    private final BuildOperationExecutor versionListingExecutor;
 
     public DynamicVersionResolver(
         VersionedComponentChooser versionedComponentChooser, VersionParser versionParser,
         AttributesFactory attributesFactory, ComponentMetadataProcessorFactory componentMetadataProcessor,
-        ComponentMetadataSupplierRuleExecutor componentMetadataSupplierRuleExecutor, CachePolicy cachePolicy
+        ComponentMetadataSupplierRuleExecutor componentMetadataSupplierRuleExecutor, CachePolicy cachePolicy,
+        @Nullable BuildOperationExecutor versionListingExecutor
     ) {
         this.versionedComponentChooser = versionedComponentChooser;
         this.versionParser = versionParser;
@@ -93,6 +103,7 @@ public DynamicVersionResolver(
         this.componentMetadataProcessor = componentMetadataProcessor;
         this.componentMetadataSupplierRuleExecutor = componentMetadataSupplierRuleExecutor;
         this.cachePolicy = cachePolicy;
+        this.versionListingExecutor = versionListingExecutor;
     }
 
     public void add(ModuleComponentRepository<ModuleComponentGraphResolveState> repository) {
@@ -164,9 +175,29 @@ private RepositoryChainModuleResolution findLatestModule(List<RepositoryResolveS
         // Nothing found - do a second pass
         queue.addAll(missing);
         missing.clear();
+        maybeListVersionsRemotelyInParallel(queue);
         return findLatestModule(queue, failures, missing);
     }
 
+    /**
+     * Lists the versions in all the given repositories concurrently, ahead of the second pass.
+     * The second pass then uses these listings and still selects a version one repository at a time, in repository order.
+     *
+     * <p>Once a listing fails with a critical failure, the listings that have not started yet are skipped, as the second pass stops
+     * at that repository. Listings that have already started for later repositories still complete, and their results are discarded.</p>
+     */
+    private void maybeListVersionsRemotelyInParallel(List<RepositoryResolveState> resolveStates) {
+        if (versionListingExecutor == null || resolveStates.size() <= 1) {
+            return;
+        }
+        AtomicBoolean criticalFailure = new AtomicBoolean();
+        versionListingExecutor.runAll(queue -> {
+            for (RepositoryResolveState resolveState : resolveStates) {
+                queue.add(new ListVersionsOperation(resolveState.versionListingResult, criticalFailure));
+            }
+        }, BuildOperationConstraint.IO_BOUND);
+    }
+
     @Nullable
     private RepositoryChainModuleResolution findLatestModule(LinkedList<RepositoryResolveState> queue, Collection<Throwable> failures, Collection<RepositoryResolveState> missing) {
         RepositoryChainModuleResolution best = null;
@@ -513,6 +544,8 @@ private static class VersionListResult {
 
         private boolean searchedLocally;
         private boolean searchedRemotely;
+        @Nullable
+        private RuntimeException listingFailure;
 
         public VersionListResult(ModuleDependencyMetadata dependency, ModuleComponentRepository<?> repository) {
             this.dependency = dependency;
@@ -520,6 +553,12 @@ public VersionListResult(ModuleDependencyMetadata dependency, ModuleComponentRep
         }
 
         void resolve() {
+            if (listingFailure != null) {
+                // Listing ahead of time failed, so report the failure as if the listing happened now
+                RuntimeException failure = listingFailure;
+                listingFailure = null;
+                throw failure;
+            }
             if (!searchedLocally) {
                 searchedLocally = true;
                 process(dependency, repository.getLocalAccess());
@@ -544,6 +583,26 @@ public boolean canMakeFurtherAttempts() {
             return !searchedRemotely;
         }
 
+        boolean hasCriticalFailure() {
+            if (listingFailure != null) {
+                return isCriticalFailure(listingFailure);
+            }
+            return result.hasResult() && result.getFailure() != null && isCriticalFailure(result.getFailure());
+        }
+
+        void resolveAhead() {
+            try {
+                resolve();
+            } catch (RuntimeException e) {
+                listingFailure = e;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return dependency.getSelector().getDisplayName() + " in " + repository.getName();
+        }
+
         public void applyTo(ResourceAwareResolveResult target) {
             result.applyTo(target);
         }
@@ -553,4 +612,31 @@ private void process(ModuleDependencyMetadata dynamicVersionDependency, ModuleCo
         }
     }
 
+
+    private static class ListVersionsOperation implements RunnableBuildOperation {
+        private final VersionListResult versionListResult;
+        private final AtomicBoolean criticalFailure;
+
+        ListVersionsOperation(VersionListResult versionListResult, AtomicBoolean criticalFailure) {
+            this.versionListResult = versionListResult;
+            this.criticalFailure = criticalFailure;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            if (criticalFailure.get()) {
+                // Versions are listed when the repository is processed, should resolution get that far
+                return;
+            }
+            versionListResult.resolveAhead();
+            if (versionListResult.hasCriticalFailure()) {
+                criticalFailure.set(true);
+            }
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("List versions of " + versionListResult);
+        }
+    }
 }
@@ -51,6 +51,8 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.regex.Pattern;
 
 import static org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.PomDomParser.AddDTDFilterInputStream;
@@ -91,6 +93,11 @@ public class PomReader implements PomParent {
     private static final String PROFILE_ACTIVATION_PROPERTY = "property";
     private static final byte[] M2_ENTITIES_RESOURCE;
     private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY;
+    /**
+     * Document builders are expensive to create, so a few are kept around for reuse.
+     * A builder can only be used by one thread at a time, so builders are taken out of the pool while parsing.
+     */
+    private static final BlockingQueue<DocumentBuilder> DOCUMENT_BUILDER_POOL = new ArrayBlockingQueue<>(8);
 
     static {
         byte[] bytes;
@@ -238,16 +245,29 @@ public String toString() {
 
     private static DocumentBuilder getDocBuilder(EntityResolver entityResolver) {
         try {
-            DocumentBuilder docBuilder = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
-            if (entityResolver != null) {
-                docBuilder.setEntityResolver(entityResolver);
+            DocumentBuilder docBuilder = DOCUMENT_BUILDER_POOL.poll();
+            if (docBuilder == null) {
+                docBuilder = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
             }
+            // A builder that has been reset may have lost its entity resolver, so always set it
+            docBuilder.setEntityResolver(entityResolver);
             return docBuilder;
         } catch (ParserConfigurationException e) {
             throw UncheckedException.throwAsUncheckedException(e);
         }
     }
 
+    private static void releaseDocBuilder(DocumentBuilder docBuilder) {
+        try {
+            docBuilder.reset();
+        } catch (UnsupportedOperationException e) {
+            // Cannot be reused
+            return;
+        }
+        // Discard the builder when the pool is full
+        DOCUMENT_BUILDER_POOL.offer(docBuilder);
+    }
+
     private static Document parseToDom(InputStream stream, String systemId) throws IOException, SAXException {
         // Set the context classloader the bootstrap classloader, to work around the way that JAXP locates implementation classes
         // This should ensure that the JAXP classes provided by the JVM are used, rather than some other implementation
@@ -255,7 +275,11 @@ private static Document parseToDom(InputStream stream, String systemId) throws I
         Thread.currentThread().setContextClassLoader(ClassLoaderUtils.getPlatformClassLoader());
         try {
             InputStream dtdStream = new AddDTDFilterInputStream(stream);
-            return getDocBuilder(M2_ENTITY_RESOLVER).parse(dtdStream, systemId);
+            DocumentBuilder docBuilder = getDocBuilder(M2_ENTITY_RESOLVER);
+            Document document = docBuilder.parse(dtdStream, systemId);
+            // Only reuse builders that completed successfully, as a failure may leave the builder in an unknown state
+            releaseDocBuilder(docBuilder);
+            return document;
         } finally {
             Thread.currentThread().setContextClassLoader(original);
         }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification;
+
+import org.gradle.api.internal.artifacts.verification.serializer.DependencyVerificationsXmlReader;
+import org.gradle.api.internal.artifacts.verification.verifier.DependencyVerifier;
+import org.gradle.cache.Cache;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.hash.ChecksumService;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+
+/**
+ * Retains the dependency verifiers read from verification metadata files across builds, so that builds running in the same daemon
+ * do not need to parse a large verification metadata file again, once for each build in the build tree.
+ *
+ * <p>A retained verifier is only reused while the verification metadata file has the same content, as determined by its SHA-256 hash.
+ * Verifiers are immutable, so the same instance can be shared by all builds.</p>
+ */
+@ServiceScope(Scope.UserHome.class)
+public class CrossBuildDependencyVerifierCache {
+    private final Cache<File, CachedVerifier> cache;
+
+    public CrossBuildDependencyVerifierCache(Cache<File, CachedVerifier> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the verifier for the given verification metadata file, reading the file when it has not been read before or its content has changed since.
+     */
+    public DependencyVerifier getVerifier(File verificationsFile, ChecksumService checksumService) {
+        HashCode contentHash = checksumService.sha256(verificationsFile);
+        CachedVerifier cached = cache.getIfPresent(verificationsFile);
+        if (cached != null && cached.contentHash.equals(contentHash)) {
+            return cached.verifier;
+        }
+        DependencyVerifier verifier;
+        try {
+            verifier = DependencyVerificationsXmlReader.readFromXml(new FileInputStream(verificationsFile));
+        } catch (FileNotFoundException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+        cache.put(verificationsFile, new CachedVerifier(contentHash, verifier));
+        return verifier;
+    }
+
+    public static class CachedVerifier {
+        private final HashCode contentHash;
+        private final DependencyVerifier verifier;
+
+        private CachedVerifier(HashCode contentHash, DependencyVerifier verifier) {
+            this.contentHash = contentHash;
+            this.verifier = verifier;
+        }
+    }
+}
@@ -26,12 +26,14 @@
 import org.gradle.internal.file.FileAccessTracker;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.resource.cached.AbstractCachedIndex;
+import org.gradle.internal.resource.cached.InMemoryCachedFileIndex;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.DefaultSerializerRegistry;
 import org.gradle.internal.serialize.Encoder;
 import org.gradle.internal.serialize.Serializer;
 import org.gradle.util.internal.BuildCommencedTimeProvider;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -42,8 +44,8 @@ public class DefaultModuleArtifactCache extends AbstractCachedIndex<ArtifactAtRe
     private static final ArtifactAtRepositoryKeySerializer KEY_SERIALIZER = keySerializer();
     private final BuildCommencedTimeProvider timeProvider;
 
-    public DefaultModuleArtifactCache(String persistentCacheFile, BuildCommencedTimeProvider timeProvider, ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator, FileAccessTracker fileAccessTracker, Path commonRootPath) {
-        super(persistentCacheFile, KEY_SERIALIZER, new CachedArtifactSerializer(commonRootPath), cacheAccessCoordinator, fileAccessTracker);
+    public DefaultModuleArtifactCache(String persistentCacheFile, BuildCommencedTimeProvider timeProvider, ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator, FileAccessTracker fileAccessTracker, Path commonRootPath, @Nullable InMemoryCachedFileIndex cachedFileIndex) {
+        super(persistentCacheFile, KEY_SERIALIZER, new CachedArtifactSerializer(commonRootPath), cacheAccessCoordinator, fileAccessTracker, cachedFileIndex);
         this.timeProvider = timeProvider;
     }
 
@@ -26,7 +26,7 @@
 
 public class ReadOnlyModuleArtifactCache extends DefaultModuleArtifactCache {
     public ReadOnlyModuleArtifactCache(String persistentCacheFile, BuildCommencedTimeProvider timeProvider, ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator, FileAccessTracker fileAccessTracker, Path commonRootPath) {
-        super(persistentCacheFile, timeProvider, cacheAccessCoordinator, fileAccessTracker, commonRootPath);
+        super(persistentCacheFile, timeProvider, cacheAccessCoordinator, fileAccessTracker, commonRootPath, null);
     }
 
     @Override
@@ -61,12 +61,11 @@ public ArtifactSet getImplicitVariant(ComponentGraphResolveState component, Vari
         // For variants derived from project components, this cache is quite efficient. We only have a single project
         // component for any given project in the build tree.
 
-        // For external components, this cache is much less efficient. We create a new external component instance
-        // (and thus variant instance) for each _repository_ instance. We can greatly improve the efficiency of this
-        // cache by deduplicating repositories across projects.
-
-        // For now, we limit this cache to be used for project components only.
-        if (!(component instanceof LocalComponentGraphResolveState)) {
+        // For external components, the component instance is shared by all resolutions in the build tree that use an
+        // equivalent repository, as the in-memory metadata caches are keyed by repository id. This means identical
+        // configurations of different projects share these artifact sets. Ad hoc external components are not shared,
+        // so caching them would only retain them for no benefit.
+        if (!(component instanceof LocalComponentGraphResolveState) && component.isAdHoc()) {
             return createImplicitVariant(component, variant);
         }
 
@@ -15,6 +15,9 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableCollection;
 import org.gradle.api.artifacts.ModuleIdentifier;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes.factories.CachingExcludeFactory;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes.factories.ExcludeFactory;
@@ -47,6 +50,9 @@ public class ModuleExclusions {
         )
     );
     private final Map<ExcludeMetadata, ExcludeSpec> metadataToExcludeCache = new ConcurrentHashMap<>();
+    // Dependencies and variants hand out the same immutable list of excludes for every edge, so the merged spec
+    // can be looked up by identity of the list instead of being merged from its individual excludes each time
+    private final Cache<Collection<? extends ExcludeMetadata>, ExcludeSpec> immutableExcludesCache = CacheBuilder.newBuilder().weakKeys().build();
     private final ExcludeSpec nothing;
 
     public ModuleExclusions() {
@@ -61,6 +67,18 @@ public ExcludeSpec excludeAny(Collection<? extends ExcludeMetadata> excludes) {
         if (excludes.size() == 1) {
             return forExclude(excludes.iterator().next());
         }
+        if (excludes instanceof ImmutableCollection) {
+            ExcludeSpec spec = immutableExcludesCache.getIfPresent(excludes);
+            if (spec == null) {
+                spec = mergeExcludes(excludes);
+                immutableExcludesCache.put(excludes, spec);
+            }
+            return spec;
+        }
+        return mergeExcludes(excludes);
+    }
+
+    private ExcludeSpec mergeExcludes(Collection<? extends ExcludeMetadata> excludes) {
         Set<ExcludeSpec> result = new HashSet<>();
         for (ExcludeMetadata exclude : excludes) {
             result.add(forExclude(exclude));
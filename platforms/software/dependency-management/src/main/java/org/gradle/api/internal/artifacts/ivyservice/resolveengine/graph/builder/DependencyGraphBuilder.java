@@ -372,7 +372,7 @@ private static void maybeDownloadMetadataInParallel(NodeState node, List<EdgeSta
                 for (final ComponentState componentState : toDownloadInParallel) {
                     buildOperationQueue.add(new DownloadMetadataOperation(componentState));
                 }
-            }, BuildOperationConstraint.UNCONSTRAINED);
+            }, BuildOperationConstraint.IO_BOUND);
         }
     }
 
@@ -63,7 +63,6 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 /**
  * Global resolution state.
@@ -218,7 +217,15 @@ public Collection<NodeState> getNodes() {
     }
 
     public NodeState getNode(ComponentState component, VariantGraphResolveState variant, boolean selectedByVariantAwareResolution) {
-        ComponentVariantNodeIdentifier id = new ComponentVariantNodeIdentifier(component.getComponentId(), variant.getName());
+        // Components only have a handful of nodes, so look for an existing node there first.
+        // This avoids allocating and hashing an identifier for every edge attached to the graph.
+        String variantName = variant.getName();
+        for (NodeState node : component.getNodes()) {
+            if (node.getResolveState().getName().equals(variantName)) {
+                return node;
+            }
+        }
+        ComponentVariantNodeIdentifier id = new ComponentVariantNodeIdentifier(component.getComponentId(), variantName);
         return nodes.computeIfAbsent(id, rci -> {
             NodeState node = new NodeState(idGenerator.nextGraphNodeId(), component, this, variant, selectedByVariantAwareResolution);
             component.addNode(node);
@@ -339,11 +346,20 @@ private static class SelectorCacheKey {
         private final ComponentSelector componentSelector;
         private final boolean ignoreVersion;
         private final boolean virtualPlatformEdge;
+        private final int hashCode;
 
         private SelectorCacheKey(ComponentSelector componentSelector, boolean ignoreVersion, boolean virtualPlatformEdge) {
             this.componentSelector = componentSelector;
             this.ignoreVersion = ignoreVersion;
             this.virtualPlatformEdge = virtualPlatformEdge;
+            this.hashCode = computeHashCode(componentSelector, ignoreVersion, virtualPlatformEdge);
+        }
+
+        private static int computeHashCode(ComponentSelector componentSelector, boolean ignoreVersion, boolean virtualPlatformEdge) {
+            int result = componentSelector.hashCode();
+            result = 31 * result + Boolean.hashCode(ignoreVersion);
+            result = 31 * result + Boolean.hashCode(virtualPlatformEdge);
+            return result;
         }
 
         @Override
@@ -355,14 +371,15 @@ public boolean equals(Object o) {
                 return false;
             }
             SelectorCacheKey that = (SelectorCacheKey) o;
-            return ignoreVersion == that.ignoreVersion &&
+            return hashCode == that.hashCode &&
+                ignoreVersion == that.ignoreVersion &&
                 virtualPlatformEdge == that.virtualPlatformEdge &&
                 componentSelector.equals(that.componentSelector);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(componentSelector, ignoreVersion, virtualPlatformEdge);
+            return hashCode;
         }
     }
 
@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.store;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import org.gradle.api.logging.Logger;
@@ -34,15 +35,20 @@
 
     private static final Logger LOG = Logging.getLogger(CachedStoreFactory.class);
     private static final int CACHE_SIZE = Integer.getInteger("org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.cacheSize", 100);
-    private static final int CACHE_EXPIRY = Integer.getInteger("org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.cacheExpiryMs", 10000);
+    private static final int CACHE_EXPIRY = Integer.getInteger("org.gradle.api.internal.artifacts.ivyservice.resolveengine.store.cacheExpiryMs", 60000);
 
     private final Cache<Object, T> cache;
     private final Stats stats;
     private final String displayName;
 
     public CachedStoreFactory(String displayName) {
+        this(displayName, CACHE_SIZE);
+    }
+
+    @VisibleForTesting
+    CachedStoreFactory(String displayName, int cacheSize) {
         this.displayName = displayName;
-        cache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).expireAfterAccess(CACHE_EXPIRY, TimeUnit.MILLISECONDS).build();
+        cache = CacheBuilder.newBuilder().maximumSize(cacheSize).expireAfterAccess(CACHE_EXPIRY, TimeUnit.MILLISECONDS).build();
         stats = new Stats();
     }
 
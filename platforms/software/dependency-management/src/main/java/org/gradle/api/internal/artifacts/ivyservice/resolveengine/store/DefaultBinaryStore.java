@@ -112,6 +112,9 @@ public boolean isInUse() {
     }
 
     private static class SimpleBinaryData implements BinaryStore.BinaryData {
+        // Results are typically read in one go, so use a larger buffer than the default to reduce the number of reads from the file
+        private static final int READ_BUFFER_SIZE = 64 * 1024;
+
         private final long offset;
         private final File inputFile;
 
@@ -129,7 +132,7 @@ public <T> T read(BinaryStore.ReadAction<T> readAction) {
                 if (decoder == null) {
                     RandomAccessFile randomAccess = new RandomAccessFile(inputFile, "r");
                     randomAccess.seek(offset);
-                    decoder = new StringDeduplicatingKryoBackedDecoder(new RandomAccessFileInputStream(randomAccess));
+                    decoder = new StringDeduplicatingKryoBackedDecoder(new RandomAccessFileInputStream(randomAccess), READ_BUFFER_SIZE);
                     resources = new CompositeStoppable().add(randomAccess, decoder);
                 }
                 return readAction.read(decoder);
@@ -42,6 +42,12 @@
 import static org.gradle.api.internal.artifacts.verification.signatures.CrossBuildCachingKeyService.MISSING_KEY_TIMEOUT;
 
 public class CrossBuildSignatureVerificationService implements SignatureVerificationService {
+    /**
+     * Number of verification results kept in memory. Large builds verify several thousands of artifacts,
+     * so this should be large enough to avoid going to the persistent cache for each of them.
+     */
+    private static final int IN_MEMORY_CACHE_SIZE = 5000;
+
     private final SignatureVerificationService delegate;
     private final FileHasher fileHasher;
     private final BuildCommencedTimeProvider timeProvider;
@@ -75,7 +81,7 @@ public CrossBuildSignatureVerificationService(SignatureVerificationService deleg
                 "signature-verification",
                 new CacheKeySerializer(stringSerializer, new SetSerializer<>(stringSerializer)),
                 new CacheEntrySerializer(stringSerializer)
-            ).withCacheDecorator(inMemoryCacheDecoratorFactory.decorator(500, true)));
+            ).withCacheDecorator(inMemoryCacheDecoratorFactory.decorator(IN_MEMORY_CACHE_SIZE, true)));
     }
 
     @Override
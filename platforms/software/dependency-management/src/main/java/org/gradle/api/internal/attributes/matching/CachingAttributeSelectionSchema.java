@@ -16,13 +16,17 @@
 
 package org.gradle.api.internal.attributes.matching;
 
+import com.google.common.collect.ImmutableSet;
 import org.gradle.api.attributes.Attribute;
 import org.gradle.api.internal.attributes.ImmutableAttributes;
+import org.gradle.internal.Cast;
 import org.gradle.internal.model.InMemoryLoadingCache;
 import org.gradle.internal.model.InMemoryCacheFactory;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -36,6 +40,7 @@ public class CachingAttributeSelectionSchema implements AttributeSelectionSchema
 
     private final InMemoryLoadingCache<ExtraAttributesKey, Attribute<?>[]> extraAttributesCache;
     private final InMemoryLoadingCache<MatchValueKey<?>, Boolean> matchValueCache;
+    private final InMemoryLoadingCache<DisambiguateKey<?>, Optional<Set<?>>> disambiguateCache;
 
     public CachingAttributeSelectionSchema(
         AttributeSelectionSchema delegate,
@@ -45,6 +50,7 @@ public CachingAttributeSelectionSchema(
 
         this.extraAttributesCache = cacheFactory.create(this::doCollectExtraAttributes);
         this.matchValueCache = cacheFactory.create(this::doMatchValue);
+        this.disambiguateCache = cacheFactory.create(this::doDisambiguate);
     }
 
     @Override
@@ -55,7 +61,61 @@ public boolean hasAttribute(Attribute<?> attribute) {
     @Nullable
     @Override
     public <T> Set<T> disambiguate(Attribute<T> attribute, @Nullable T requested, Set<T> candidates) {
-        return delegate.disambiguate(attribute, requested, candidates);
+        // Disambiguation rules are instantiated and executed on every call, and variant selection
+        // tends to ask for the same disambiguation over and over for components with many variants.
+        return Cast.uncheckedCast(disambiguateCache.get(new DisambiguateKey<>(attribute, requested, candidates)).orElse(null));
+    }
+
+    private <T> Optional<Set<?>> doDisambiguate(DisambiguateKey<T> key) {
+        Set<T> result = delegate.disambiguate(key.attribute, key.requested, key.candidates);
+        return Optional.ofNullable(result == null ? null : ImmutableSet.copyOf(result));
+    }
+
+    private static class DisambiguateKey<T> {
+        private final Attribute<T> attribute;
+        @Nullable
+        private final T requested;
+        private final ImmutableSet<T> candidates;
+
+        private final int hashCode;
+
+        private DisambiguateKey(Attribute<T> attribute, @Nullable T requested, Set<T> candidates) {
+            this.attribute = attribute;
+            this.requested = requested;
+            // Retained by the cache, so take a copy the caller cannot modify.
+            // Rules see the candidates in iteration order, so the order is part of the key.
+            this.candidates = ImmutableSet.copyOf(candidates);
+
+            this.hashCode = computeHashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            DisambiguateKey<?> that = (DisambiguateKey<?>) o;
+            return hashCode == that.hashCode &&
+                attribute.equals(that.attribute) &&
+                Objects.equals(requested, that.requested) &&
+                candidates.asList().equals(that.candidates.asList());
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        private int computeHashCode() {
+            int result = attribute.hashCode();
+            result = 31 * result + Objects.hashCode(requested);
+            result = 31 * result + candidates.asList().hashCode();
+            return result;
+        }
     }
 
     @Override
@@ -21,6 +21,7 @@
 import org.gradle.internal.file.FileAccessTracker;
 import org.gradle.internal.serialize.Serializer;
 
+import javax.annotation.Nullable;
 import java.io.File;
 
 public abstract class AbstractCachedIndex<K, V extends CachedItem> {
@@ -29,16 +30,22 @@
     private final Serializer<V> valueSerializer;
     private final ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator;
     private final FileAccessTracker fileAccessTracker;
+    @Nullable
+    private final InMemoryCachedFileIndex cachedFileIndex;
 
     private IndexedCache<K, V> indexedCache;
 
     public AbstractCachedIndex(String persistentCacheName, Serializer<K> keySerializer, Serializer<V> valueSerializer, ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator, FileAccessTracker fileAccessTracker) {
+        this(persistentCacheName, keySerializer, valueSerializer, cacheAccessCoordinator, fileAccessTracker, null);
+    }
 
+    public AbstractCachedIndex(String persistentCacheName, Serializer<K> keySerializer, Serializer<V> valueSerializer, ArtifactCacheLockingAccessCoordinator cacheAccessCoordinator, FileAccessTracker fileAccessTracker, @Nullable InMemoryCachedFileIndex cachedFileIndex) {
         this.persistentCacheName = persistentCacheName;
         this.keySerializer = keySerializer;
         this.valueSerializer = valueSerializer;
         this.cacheAccessCoordinator = cacheAccessCoordinator;
         this.fileAccessTracker = fileAccessTracker;
+        this.cachedFileIndex = cachedFileIndex;
     }
 
     private IndexedCache<K, V> getIndexedCache() {
@@ -59,7 +66,7 @@ public V lookup(final K key) {
             V found = getIndexedCache().getIfPresent(key);
             if (found == null) {
                 return null;
-            } else if (found.isMissing() || found.getCachedFile().exists()) {
+            } else if (found.isMissing() || exists(found.getCachedFile())) {
                 return found;
             } else {
                 clear(key);
@@ -74,8 +81,15 @@ public V lookup(final K key) {
         return result;
     }
 
+    private boolean exists(File cachedFile) {
+        return cachedFileIndex == null ? cachedFile.exists() : cachedFileIndex.exists(cachedFile);
+    }
+
     protected void storeInternal(final K key, final V entry) {
         cacheAccessCoordinator.useCache(() -> getIndexedCache().put(key, entry));
+        if (cachedFileIndex != null && !entry.isMissing()) {
+            cachedFileIndex.written(entry.getCachedFile());
+        }
     }
 
     protected void assertKeyNotNull(K key) {
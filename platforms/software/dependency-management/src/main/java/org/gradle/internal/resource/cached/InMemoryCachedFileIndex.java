@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.cached;
+
+import org.gradle.cache.AsyncCacheAccess;
+import org.gradle.cache.CacheDecorator;
+import org.gradle.cache.CleanupAction;
+import org.gradle.cache.CrossProcessCacheAccess;
+import org.gradle.cache.FileLock;
+import org.gradle.cache.MultiProcessSafeIndexedCache;
+import org.gradle.initialization.RootBuildLifecycleListener;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Retains the files of the artifact cache that are known to exist during a build, so that the build does not need to check the file system
+ * again each time it resolves the same cached artifact.
+ *
+ * <p>Files are added when they are written to the cache or found on disk. Files in the cache are never modified once written,
+ * but they can be removed by other processes, by cache cleanup or by hand. Everything known is therefore discarded at the end of each build,
+ * whenever the lock on the artifact cache is acquired, via {@link #getInvalidatingCacheDecorator()}, and after the cleanup of the artifact cache,
+ * via {@link #getInvalidatingCleanupAction()}. At most {@link #MAX_KNOWN_FILES} files are retained. The existence of other files is always checked.</p>
+ */
+@ServiceScope(Scope.UserHome.class)
+public class InMemoryCachedFileIndex implements RootBuildLifecycleListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryCachedFileIndex.class);
+
+    /**
+     * The maximum number of files retained, which bounds the memory used by very large builds.
+     */
+    static final int MAX_KNOWN_FILES = 100_000;
+
+    private final Set<File> existingFiles = ConcurrentHashMap.newKeySet();
+    private final AtomicLong checksAvoided = new AtomicLong();
+    private final AtomicLong checksPerformed = new AtomicLong();
+    private final CacheDecorator invalidatingCacheDecorator = new InvalidatingCacheDecorator();
+
+    /**
+     * Returns whether the given cached file exists, only checking the file system when the file is not already known to exist.
+     */
+    public boolean exists(File file) {
+        if (existingFiles.contains(file)) {
+            checksAvoided.incrementAndGet();
+            return true;
+        }
+        checksPerformed.incrementAndGet();
+        if (file.exists()) {
+            remember(file);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records that the given file has been written to the cache.
+     */
+    public void written(File file) {
+        remember(file);
+    }
+
+    private void remember(File file) {
+        if (existingFiles.size() < MAX_KNOWN_FILES) {
+            existingFiles.add(file);
+        }
+    }
+
+    /**
+     * Forgets about all files, so that their existence is checked again.
+     */
+    public void invalidate() {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Forgetting {} cached files known to exist ({} file system checks avoided, {} performed so far).", existingFiles.size(), checksAvoided.get(), checksPerformed.get());
+        }
+        existingFiles.clear();
+    }
+
+    @Override
+    public void afterStart() {
+    }
+
+    @Override
+    public void beforeComplete() {
+        invalidate();
+    }
+
+    /**
+     * Returns a decorator for the indexed caches of the artifact cache that forgets about all files whenever the lock on the artifact cache is acquired,
+     * as another process may have removed files while it held the lock.
+     */
+    public CacheDecorator getInvalidatingCacheDecorator() {
+        return invalidatingCacheDecorator;
+    }
+
+    /**
+     * Returns a cleanup action that forgets about all files, to be run after the files of the cache have been cleaned up.
+     */
+    public CleanupAction getInvalidatingCleanupAction() {
+        return (cleanableStore, progressMonitor) -> invalidate();
+    }
+
+    /**
+     * Returns the number of file system checks that were avoided because the file was already known to exist.
+     */
+    public long getChecksAvoided() {
+        return checksAvoided.get();
+    }
+
+    /**
+     * Returns the number of file system checks that were performed.
+     */
+    public long getChecksPerformed() {
+        return checksPerformed.get();
+    }
+
+    private class InvalidatingCacheDecorator implements CacheDecorator {
+        @Override
+        public <K, V> MultiProcessSafeIndexedCache<K, V> decorate(String cacheId, String cacheName, MultiProcessSafeIndexedCache<K, V> indexedCache, CrossProcessCacheAccess crossProcessCacheAccess, AsyncCacheAccess asyncCacheAccess) {
+            return new InvalidatingIndexedCache<>(indexedCache);
+        }
+    }
+
+    private class InvalidatingIndexedCache<K, V> implements MultiProcessSafeIndexedCache<K, V> {
+        private final MultiProcessSafeIndexedCache<K, V> delegate;
+
+        InvalidatingIndexedCache(MultiProcessSafeIndexedCache<K, V> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Nullable
+        @Override
+        public V getIfPresent(K key) {
+            return delegate.getIfPresent(key);
+        }
+
+        @Override
+        public V get(K key, Function<? super K, ? extends V> producer) {
+            return delegate.get(key, producer);
+        }
+
+        @Override
+        public void put(K key, V value) {
+            delegate.put(key, value);
+        }
+
+        @Override
+        public void remove(K key) {
+            delegate.remove(key);
+        }
+
+        @Override
+        public void afterLockAcquire(FileLock.State currentCacheState) {
+            invalidate();
+            delegate.afterLockAcquire(currentCacheState);
+        }
+
+        @Override
+        public void finishWork() {
+            delegate.finishWork();
+        }
+
+        @Override
+        public void beforeLockRelease(FileLock.State currentCacheState) {
+            delegate.beforeLockRelease(currentCacheState);
+        }
+    }
+}
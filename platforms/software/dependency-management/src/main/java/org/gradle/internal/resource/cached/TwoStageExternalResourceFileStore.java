@@ -18,6 +18,7 @@
 import com.google.common.collect.ImmutableSet;
 import org.gradle.api.Action;
 import org.gradle.internal.file.FileAccessTracker;
+import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.resource.local.FileStoreException;
 import org.gradle.internal.resource.local.LocallyAvailableResource;
 
@@ -45,6 +46,11 @@ public LocallyAvailableResource move(String key, File source) throws FileStoreEx
         return writableStore.move(key, source);
     }
 
+    @Override
+    public LocallyAvailableResource move(String key, File source, HashCode sha1) throws FileStoreException {
+        return writableStore.move(key, source, sha1);
+    }
+
     @Override
     public LocallyAvailableResource add(String key, Action<File> addAction) throws FileStoreException {
         return writableStore.add(key, addAction);
@@ -175,7 +175,7 @@ private LocallyAvailableExternalResource copyCandidateToCache(ExternalResourceNa
             if (!localChecksum.equals(remoteChecksum)) {
                 return null;
             }
-            return moveIntoCache(source, destination, fileStore, remoteMetaData);
+            return moveIntoCache(source, destination, localChecksum, fileStore, remoteMetaData);
         } finally {
             destination.delete();
         }
@@ -192,15 +192,15 @@ private LocallyAvailableExternalResource copyToCache(final ExternalResourceName
 
         // Move into cache
         try {
-            return moveIntoCache(source, downloadAction.getDestination(), fileStore, downloadAction.getMetaData());
+            return moveIntoCache(source, downloadAction.getDestination(), downloadAction.getSha1(), fileStore, downloadAction.getMetaData());
         } finally {
             downloadAction.getDestination().delete();
         }
     }
 
-    private LocallyAvailableExternalResource moveIntoCache(final ExternalResourceName source, final File destination, final ResourceFileStore fileStore, final ExternalResourceMetaData metaData) {
+    private LocallyAvailableExternalResource moveIntoCache(final ExternalResourceName source, final File destination, final HashCode sha1, final ResourceFileStore fileStore, final ExternalResourceMetaData metaData) {
         return cacheAccessCoordinator.useCache(() -> {
-            LocallyAvailableResource cachedResource = fileStore.moveIntoCache(destination);
+            LocallyAvailableResource cachedResource = fileStore.moveIntoCache(destination, sha1);
             File fileInFileStore = cachedResource.getFile();
             cachedExternalResourceIndex.store(source.toString(), fileInFileStore, metaData);
             return fileResourceRepository.resource(fileInFileStore, source.getUri(), metaData);
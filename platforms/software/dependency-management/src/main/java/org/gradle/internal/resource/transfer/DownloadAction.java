@@ -18,6 +18,9 @@
 
 import org.apache.commons.io.IOUtils;
 import org.gradle.api.internal.file.temp.TemporaryFileProvider;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.internal.hash.HashingOutputStream;
 import org.gradle.internal.resource.ExternalResource;
 import org.gradle.internal.resource.ExternalResourceName;
 import org.gradle.internal.resource.metadata.ExternalResourceMetaData;
@@ -34,6 +37,7 @@
 public class DownloadAction implements ExternalResource.ContentAndMetadataAction<Object> {
     private File destination;
     private ExternalResourceMetaData metaData;
+    private HashCode sha1;
     private final ExternalResourceName source;
     private final TemporaryFileProvider temporaryFileProvider;
     @Nullable
@@ -55,8 +59,10 @@ public Object execute(InputStream inputStream, ExternalResourceMetaData metaData
         if (destination.getParentFile() != null) {
             GFileUtils.mkdirs(destination.getParentFile());
         }
-        try (FileOutputStream outputStream = new FileOutputStream(destination)) {
+        // Calculate the checksum while writing, so that the file store does not need to read the file again
+        try (HashingOutputStream outputStream = new HashingOutputStream(Hashing.sha1(), new FileOutputStream(destination))) {
             IOUtils.copyLarge(inputStream, outputStream);
+            sha1 = outputStream.hash();
         }
         return null;
     }
@@ -70,4 +76,12 @@ public File getDestination() {
     public ExternalResourceMetaData getMetaData() {
         return metaData;
     }
+
+    /**
+     * Returns the SHA-1 checksum of the downloaded file, or {@code null} when nothing was downloaded.
+     */
+    @Nullable
+    public HashCode getSha1() {
+        return sha1;
+    }
 }
@@ -23,6 +23,7 @@ import org.gradle.cache.internal.DefaultUnscopedCacheBuilderFactory
 import org.gradle.cache.internal.UsedGradleVersions
 import org.gradle.internal.file.nio.ModificationTimeFileAccessTimeJournal
 import org.gradle.internal.operations.TestBuildOperationRunner
+import org.gradle.internal.resource.cached.InMemoryCachedFileIndex
 import org.gradle.internal.time.TimestampSuppliers
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.gradle.testfixtures.internal.TestInMemoryCacheFactory
@@ -54,9 +55,10 @@ class DefaultArtifactCacheLockingAccessCoordinatorTest extends Specification {
         }
     }
     def cacheCleanupStrategyFactory = new DefaultCacheCleanupStrategyFactory(new TestBuildOperationRunner())
+    def cachedFileIndex = new InMemoryCachedFileIndex()
 
     @Subject @AutoCleanup
-    def cacheLockingManager = new WritableArtifactCacheLockingAccessCoordinator(cacheRepository, artifactCacheMetadata, fileAccessTimeJournal, usedGradleVersions, cacheConfigurations, cacheCleanupStrategyFactory)
+    def cacheLockingManager = new WritableArtifactCacheLockingAccessCoordinator(cacheRepository, artifactCacheMetadata, fileAccessTimeJournal, usedGradleVersions, cacheConfigurations, cacheCleanupStrategyFactory, cachedFileIndex)
 
     def "cleans up resources"() {
         given:
@@ -92,6 +94,20 @@ class DefaultArtifactCacheLockingAccessCoordinatorTest extends Specification {
         file3.assertDoesNotExist()
     }
 
+    def "forgets about files known to exist when cleaning up files"() {
+        given:
+        def file = filesDir.createDir("group1/artifact1/1.0/xyz").createFile("my.jar")
+        file.parentFile.lastModified = 0
+        cachedFileIndex.exists(file)
+
+        when:
+        cacheLockingManager.close()
+
+        then:
+        file.assertDoesNotExist()
+        !cachedFileIndex.exists(file)
+    }
+
     def "deletes old versions of cache dir"() {
         given:
         def oldCacheDir = cacheDir.getParentFile().createDir("modules-1")
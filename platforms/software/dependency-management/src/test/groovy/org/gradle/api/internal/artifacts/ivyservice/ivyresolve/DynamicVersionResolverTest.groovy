@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve
+
+import org.gradle.api.Action
+import org.gradle.api.internal.artifacts.ComponentMetadataProcessorFactory
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.api.internal.artifacts.configurations.dynamicversion.CachePolicy
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionParser
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionSelector
+import org.gradle.api.internal.attributes.AttributesFactory
+import org.gradle.api.internal.attributes.ImmutableAttributes
+import org.gradle.internal.component.external.model.DefaultModuleComponentSelector
+import org.gradle.internal.component.external.model.ModuleDependencyMetadata
+import org.gradle.internal.operations.BuildOperationConstraint
+import org.gradle.internal.operations.BuildOperationContext
+import org.gradle.internal.operations.BuildOperationExecutor
+import org.gradle.internal.operations.BuildOperationQueue
+import org.gradle.internal.operations.RunnableBuildOperation
+import org.gradle.internal.operations.TestBuildOperationExecutor
+import org.gradle.internal.resolve.ModuleVersionNotFoundException
+import org.gradle.internal.resolve.ModuleVersionResolveException
+import org.gradle.internal.resolve.caching.ComponentMetadataSupplierRuleExecutor
+import org.gradle.internal.resolve.result.BuildableModuleVersionListingResolveResult
+import org.gradle.internal.resolve.result.ComponentSelectionContext
+import org.gradle.internal.resolve.result.DefaultBuildableComponentIdResolveResult
+import spock.lang.Specification
+
+class DynamicVersionResolverTest extends Specification {
+    final selector = DefaultModuleComponentSelector.newSelector(DefaultModuleIdentifier.newId("group", "module"), "1.+")
+    final dependency = Stub(ModuleDependencyMetadata) {
+        getSelector() >> selector
+    }
+    final versionSelector = Stub(VersionSelector)
+    final result = new DefaultBuildableComponentIdResolveResult()
+
+    def localAccess = Mock(ModuleComponentRepositoryAccess)
+    def remoteAccess = Mock(ModuleComponentRepositoryAccess)
+    def localAccess2 = Mock(ModuleComponentRepositoryAccess)
+    def remoteAccess2 = Mock(ModuleComponentRepositoryAccess)
+
+    final VersionedComponentChooser componentChooser = Mock(VersionedComponentChooser)
+
+    def "with parallel version listing, selects versions in repository order whatever the order the listings complete in"() {
+        given:
+        def resolver = resolverWithParallelListing(reversingExecutor())
+        addRepos(resolver)
+
+        when:
+        resolver.resolve(dependency, versionSelector, null, ImmutableAttributes.EMPTY, result)
+
+        then:
+        1 * localAccess.listModuleVersions(dependency, _)
+        1 * localAccess2.listModuleVersions(dependency, _)
+
+        then:
+        1 * remoteAccess2.listModuleVersions(dependency, _) >> listed("1.2")
+
+        then:
+        1 * remoteAccess.listModuleVersions(dependency, _) >> listed("1.1")
+
+        then:
+        1 * componentChooser.selectNewestMatchingComponent({ it*.id*.version == ["1.1"] }, _, versionSelector, null, _) >> noMatch()
+
+        then:
+        1 * componentChooser.selectNewestMatchingComponent({ it*.id*.version == ["1.2"] }, _, versionSelector, null, _) >> noMatch()
+
+        and:
+        0 * remoteAccess._
+        0 * remoteAccess2._
+        0 * componentChooser._
+        result.failure instanceof ModuleVersionNotFoundException
+    }
+
+    def "with parallel version listing, rethrows a listing failure when the repository is processed"() {
+        given:
+        def failure = new RuntimeException("broken")
+        def resolver = resolverWithParallelListing(new TestBuildOperationExecutor())
+        addRepos(resolver)
+
+        when:
+        resolver.resolve(dependency, versionSelector, null, ImmutableAttributes.EMPTY, result)
+
+        then:
+        1 * remoteAccess.listModuleVersions(dependency, _) >> { throw failure }
+        1 * remoteAccess2.listModuleVersions(dependency, _) >> listed("1.2")
+        1 * componentChooser.selectNewestMatchingComponent({ it*.id*.version == ["1.2"] }, _, versionSelector, null, _) >> noMatch()
+
+        and:
+        0 * remoteAccess._
+        0 * remoteAccess2._
+        0 * componentChooser._
+        result.failure instanceof ModuleVersionResolveException
+        result.failure.causes == [failure]
+    }
+
+    def "with parallel version listing, does not list versions in later repositories after a critical failure"() {
+        given:
+        def failure = new RuntimeException(new SocketTimeoutException("timeout"))
+        def resolver = resolverWithParallelListing(new TestBuildOperationExecutor())
+        addRepos(resolver)
+
+        when:
+        resolver.resolve(dependency, versionSelector, null, ImmutableAttributes.EMPTY, result)
+
+        then:
+        1 * localAccess.listModuleVersions(dependency, _)
+        1 * localAccess2.listModuleVersions(dependency, _)
+        1 * remoteAccess.listModuleVersions(dependency, _) >> { throw failure }
+
+        and:
+        0 * remoteAccess2._
+        0 * componentChooser._
+        result.failure instanceof ModuleVersionResolveException
+        result.failure.causes == [failure]
+    }
+
+    def "with parallel version listing, does not list versions in later repositories after a critical listing failure result"() {
+        given:
+        def failure = new ModuleVersionResolveException(selector, new SocketTimeoutException("timeout"))
+        def resolver = resolverWithParallelListing(new TestBuildOperationExecutor())
+        addRepos(resolver)
+
+        when:
+        resolver.resolve(dependency, versionSelector, null, ImmutableAttributes.EMPTY, result)
+
+        then:
+        1 * remoteAccess.listModuleVersions(dependency, _) >> { dep, BuildableModuleVersionListingResolveResult listing ->
+            listing.failed(failure)
+        }
+
+        and:
+        0 * remoteAccess2._
+        0 * componentChooser._
+        result.failure instanceof ModuleVersionResolveException
+        result.failure.causes == [failure]
+    }
+
+    private DynamicVersionResolver resolverWithParallelListing(BuildOperationExecutor executor) {
+        return new DynamicVersionResolver(componentChooser, new VersionParser(), Stub(AttributesFactory), Stub(ComponentMetadataProcessorFactory), Stub(ComponentMetadataSupplierRuleExecutor), Stub(CachePolicy), executor)
+    }
+
+    private void addRepos(DynamicVersionResolver resolver) {
+        resolver.add(repository("repo1", localAccess, remoteAccess))
+        resolver.add(repository("repo2", localAccess2, remoteAccess2))
+    }
+
+    private ModuleComponentRepository repository(String name, ModuleComponentRepositoryAccess repoLocalAccess, ModuleComponentRepositoryAccess repoRemoteAccess) {
+        return Stub(ModuleComponentRepository) {
+            getLocalAccess() >> repoLocalAccess
+            getRemoteAccess() >> repoRemoteAccess
+            getName() >> name
+        }
+    }
+
+    private static Closure listed(String... versions) {
+        return { dep, BuildableModuleVersionListingResolveResult listing ->
+            listing.listed(versions as List)
+        }
+    }
+
+    private static Closure noMatch() {
+        return { versions, ComponentSelectionContext context, versionSelector, rejectedVersionSelector, attributes ->
+            context.noMatchFound()
+        }
+    }
+
+    /**
+     * Runs the operations in the reverse order to that in which they are queued.
+     */
+    private BuildOperationExecutor reversingExecutor() {
+        return Stub(BuildOperationExecutor) {
+            runAll(_ as Action, _ as BuildOperationConstraint) >> { Action<BuildOperationQueue<RunnableBuildOperation>> action, BuildOperationConstraint constraint ->
+                List<RunnableBuildOperation> operations = []
+                action.execute(Stub(BuildOperationQueue) {
+                    add(_) >> { RunnableBuildOperation operation -> operations << operation }
+                })
+                operations.reverse().each { it.run(Stub(BuildOperationContext)) }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.verification
+
+import org.gradle.cache.ManualEvictionInMemoryCache
+import org.gradle.internal.hash.ChecksumService
+import org.gradle.internal.hash.Hashing
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class CrossBuildDependencyVerifierCacheTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def cache = new CrossBuildDependencyVerifierCache(new ManualEvictionInMemoryCache<>())
+    def checksumService = Stub(ChecksumService) {
+        sha256(_) >> { File file -> Hashing.sha256().hashBytes(file.bytes) }
+    }
+
+    def "reuses verifier while verification file is unchanged"() {
+        def file = tmpDir.file("verification-metadata.xml")
+        file.text = metadata(true)
+
+        when:
+        def first = cache.getVerifier(file, checksumService)
+        def second = cache.getVerifier(file, checksumService)
+
+        then:
+        first.is(second)
+        first.configuration.verifyMetadata
+    }
+
+    def "reads verification file again when it changes"() {
+        def file = tmpDir.file("verification-metadata.xml")
+        file.text = metadata(true)
+
+        when:
+        def first = cache.getVerifier(file, checksumService)
+        file.text = metadata(false)
+        file.lastModified = file.lastModified() + 2000
+        def second = cache.getVerifier(file, checksumService)
+
+        then:
+        !first.is(second)
+        first.configuration.verifyMetadata
+        !second.configuration.verifyMetadata
+    }
+
+    def "reads verification file again when its content changes without changing its length or modification time"() {
+        def file = tmpDir.file("verification-metadata.xml")
+        def original = metadata(true) + " "
+        def edited = metadata(false)
+        assert original.length() == edited.length()
+        file.text = original
+        def lastModified = file.lastModified()
+
+        when:
+        def first = cache.getVerifier(file, checksumService)
+        file.text = edited
+        file.lastModified = lastModified
+        def second = cache.getVerifier(file, checksumService)
+
+        then:
+        !first.is(second)
+        first.configuration.verifyMetadata
+        !second.configuration.verifyMetadata
+    }
+
+    private static String metadata(boolean verifyMetadata) {
+        """<?xml version="1.0" encoding="UTF-8"?>
+<verification-metadata>
+   <configuration>
+      <verify-metadata>${verifyMetadata}</verify-metadata>
+   </configuration>
+</verification-metadata>
+"""
+    }
+}
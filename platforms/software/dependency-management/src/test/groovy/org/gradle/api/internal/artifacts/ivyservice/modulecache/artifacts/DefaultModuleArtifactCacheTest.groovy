@@ -45,7 +45,7 @@ class DefaultModuleArtifactCacheTest extends Specification {
     String persistentCacheFile = "cacheFile"
     Path commonRootPath = folder.createDir("common").toPath()
 
-    @Subject DefaultModuleArtifactCache index = new DefaultModuleArtifactCache(persistentCacheFile, timeProvider, cacheAccessCoordinator, fileAccessTracker, commonRootPath)
+    @Subject DefaultModuleArtifactCache index = new DefaultModuleArtifactCache(persistentCacheFile, timeProvider, cacheAccessCoordinator, fileAccessTracker, commonRootPath, null)
 
     def "storing null artifactFile not supported"() {
         given:
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes
+
+import com.google.common.collect.ImmutableList
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.internal.component.external.descriptor.DefaultExclude
+import spock.lang.Specification
+
+class ModuleExclusionsTest extends Specification {
+    def moduleExclusions = new ModuleExclusions()
+
+    def "reuses the spec merged for an immutable list of excludes"() {
+        def excludes = ImmutableList.of(exclude("org", "foo"), exclude("org", "bar"), exclude("com", "baz"))
+
+        when:
+        def first = moduleExclusions.excludeAny(excludes)
+        def second = moduleExclusions.excludeAny(excludes)
+
+        then:
+        first.is(second)
+        first.excludes(DefaultModuleIdentifier.newId("org", "foo"))
+        first.excludes(DefaultModuleIdentifier.newId("com", "baz"))
+        !first.excludes(DefaultModuleIdentifier.newId("com", "foo"))
+    }
+
+    def "merges mutable lists of excludes each time they are used"() {
+        def excludes = [exclude("org", "foo"), exclude("org", "bar")]
+
+        when:
+        def first = moduleExclusions.excludeAny(excludes)
+        excludes.add(exclude("com", "baz"))
+        def second = moduleExclusions.excludeAny(excludes)
+
+        then:
+        !first.excludes(DefaultModuleIdentifier.newId("com", "baz"))
+        second.excludes(DefaultModuleIdentifier.newId("com", "baz"))
+        second.excludes(DefaultModuleIdentifier.newId("org", "foo"))
+    }
+
+    private static DefaultExclude exclude(String group, String module) {
+        new DefaultExclude(DefaultModuleIdentifier.newId(group, module))
+    }
+}
@@ -36,4 +36,20 @@ class CachedStoreFactoryTest extends Specification {
         store1b.load(() -> { assert false }) == results1
         store2.load(() -> results2) == results2
     }
+
+    def "discards results beyond the cache size"() {
+        def factory = new CachedStoreFactory("some cache", 1)
+
+        def results1 = new Object()
+        def results2 = new Object()
+        def results3 = new Object()
+
+        def store1 = factory.createCachedStore("conf1")
+        def store2 = factory.createCachedStore("conf2")
+
+        expect:
+        store1.load(() -> results1) == results1
+        store2.load(() -> results2) == results2
+        store1.load(() -> results3) == results3
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.attributes.matching
+
+import org.gradle.api.attributes.Attribute
+import org.gradle.util.TestUtil
+import spock.lang.Specification
+
+/**
+ * Tests {@link CachingAttributeSelectionSchema}.
+ */
+class CachingAttributeSelectionSchemaTest extends Specification {
+
+    def delegate = Mock(AttributeSelectionSchema)
+    def schema = new CachingAttributeSelectionSchema(delegate, TestUtil.inMemoryCacheFactory())
+    def attribute = Attribute.of("flavor", String)
+
+    def "caches disambiguation results"() {
+        when:
+        def first = schema.disambiguate(attribute, "free", ["free", "paid"] as LinkedHashSet)
+        def second = schema.disambiguate(attribute, "free", ["free", "paid"] as LinkedHashSet)
+
+        then:
+        1 * delegate.disambiguate(attribute, "free", ["free", "paid"] as Set) >> (["free"] as Set)
+        0 * delegate._
+        first == ["free"] as Set
+        second == ["free"] as Set
+    }
+
+    def "caches absent disambiguation results"() {
+        when:
+        def first = schema.disambiguate(attribute, null, ["free", "paid"] as LinkedHashSet)
+        def second = schema.disambiguate(attribute, null, ["free", "paid"] as LinkedHashSet)
+
+        then:
+        1 * delegate.disambiguate(attribute, null, _) >> null
+        0 * delegate._
+        first == null
+        second == null
+    }
+
+    def "does not share disambiguation results between different requests"() {
+        when:
+        schema.disambiguate(attribute, "free", ["free", "paid"] as LinkedHashSet)
+        schema.disambiguate(attribute, "paid", ["free", "paid"] as LinkedHashSet)
+        schema.disambiguate(attribute, "free", ["free", "paid", "trial"] as LinkedHashSet)
+        schema.disambiguate(attribute, "free", ["paid", "free"] as LinkedHashSet)
+
+        then:
+        4 * delegate.disambiguate(attribute, _, _) >> null
+    }
+}
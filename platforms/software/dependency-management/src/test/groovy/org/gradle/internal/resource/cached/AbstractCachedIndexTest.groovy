@@ -80,6 +80,60 @@ class AbstractCachedIndexTest extends Specification {
         0 * fileAccessTracker.markAccessed(_)
     }
 
+    def "does not check existence of files known to exist again"() {
+        given:
+        def cachedFileIndex = new InMemoryCachedFileIndex()
+        def indexWithKnownFiles = new AbstractCachedIndex<String, CachedItem>(CACHE_NAME, STRING_SERIALIZER, valueSerializer, cacheAccessCoordinator, fileAccessTracker, cachedFileIndex) {}
+        def cachedFile = temporaryFolder.createFile("foo.txt")
+        indexWithKnownFiles.storeInternal("foo", cachedItem(cachedFile))
+        cachedFileIndex.invalidate()
+
+        when:
+        def first = indexWithKnownFiles.lookup("foo")
+        def second = indexWithKnownFiles.lookup("foo")
+
+        then:
+        first.cachedFile == cachedFile
+        second.cachedFile == cachedFile
+        cachedFileIndex.checksPerformed == 1
+        cachedFileIndex.checksAvoided == 1
+        2 * fileAccessTracker.markAccessed(cachedFile)
+    }
+
+    def "stored files are known to exist"() {
+        given:
+        def cachedFileIndex = new InMemoryCachedFileIndex()
+        def indexWithKnownFiles = new AbstractCachedIndex<String, CachedItem>(CACHE_NAME, STRING_SERIALIZER, valueSerializer, cacheAccessCoordinator, fileAccessTracker, cachedFileIndex) {}
+        def cachedFile = temporaryFolder.createFile("foo.txt")
+
+        when:
+        indexWithKnownFiles.storeInternal("foo", cachedItem(cachedFile))
+        def item = indexWithKnownFiles.lookup("foo")
+
+        then:
+        item.cachedFile == cachedFile
+        cachedFileIndex.checksPerformed == 0
+        cachedFileIndex.checksAvoided == 1
+    }
+
+    def "checks existence of files again after invalidation"() {
+        given:
+        def cachedFileIndex = new InMemoryCachedFileIndex()
+        def indexWithKnownFiles = new AbstractCachedIndex<String, CachedItem>(CACHE_NAME, STRING_SERIALIZER, valueSerializer, cacheAccessCoordinator, fileAccessTracker, cachedFileIndex) {}
+        def cachedFile = temporaryFolder.createFile("foo.txt")
+        indexWithKnownFiles.storeInternal("foo", cachedItem(cachedFile))
+
+        when:
+        cachedFile.delete()
+        cachedFileIndex.invalidate()
+        def item = indexWithKnownFiles.lookup("foo")
+
+        then:
+        item == null
+        cachedFileIndex.checksPerformed == 1
+        cacheAccessCoordinator.getCache(CACHE_NAME).getIfPresent("foo") == null
+    }
+
     def "returns missing items"() {
         given:
         def missingItem = cachedItem(null, true)
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.cached
+
+import org.gradle.cache.AsyncCacheAccess
+import org.gradle.cache.CrossProcessCacheAccess
+import org.gradle.cache.FileLock
+import org.gradle.cache.MultiProcessSafeIndexedCache
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+import spock.lang.Subject
+
+class InMemoryCachedFileIndexTest extends Specification {
+    @Rule TestNameTestDirectoryProvider temporaryFolder = new TestNameTestDirectoryProvider(getClass())
+
+    @Subject def cachedFileIndex = new InMemoryCachedFileIndex()
+    def indexedCache = Mock(MultiProcessSafeIndexedCache)
+    def decoratedCache = cachedFileIndex.invalidatingCacheDecorator.decorate("id", "name", indexedCache, Stub(CrossProcessCacheAccess), Stub(AsyncCacheAccess))
+
+    def "does not check the file system again for files known to exist"() {
+        given:
+        def cachedFile = temporaryFolder.createFile("foo.txt")
+
+        when:
+        def existed = cachedFileIndex.exists(cachedFile)
+        cachedFile.delete()
+
+        then:
+        existed
+        cachedFileIndex.exists(cachedFile)
+        cachedFileIndex.checksPerformed == 1
+        cachedFileIndex.checksAvoided == 1
+    }
+
+    def "forgets about files known to exist when the lock on the cache is acquired"() {
+        given:
+        def state = Stub(FileLock.State)
+        def cachedFile = temporaryFolder.createFile("foo.txt")
+        cachedFileIndex.exists(cachedFile)
+        cachedFile.delete()
+
+        when:
+        decoratedCache.afterLockAcquire(state)
+
+        then:
+        1 * indexedCache.afterLockAcquire(state)
+
+        and:
+        !cachedFileIndex.exists(cachedFile)
+    }
+
+    def "forgets about files known to exist at the end of the build"() {
+        given:
+        def cachedFile = temporaryFolder.createFile("foo.txt")
+        cachedFileIndex.exists(cachedFile)
+        cachedFile.delete()
+
+        when:
+        cachedFileIndex.beforeComplete()
+
+        then:
+        !cachedFileIndex.exists(cachedFile)
+        cachedFileIndex.checksPerformed == 2
+    }
+
+    def "retains a bounded number of files known to exist"() {
+        given:
+        InMemoryCachedFileIndex.MAX_KNOWN_FILES.times {
+            cachedFileIndex.written(temporaryFolder.file("file-${it}"))
+        }
+        def cachedFile = temporaryFolder.createFile("foo.txt")
+
+        when:
+        cachedFileIndex.written(cachedFile)
+        cachedFile.delete()
+
+        then:
+        !cachedFileIndex.exists(cachedFile)
+        cachedFileIndex.exists(temporaryFolder.file("file-0"))
+        cachedFileIndex.checksPerformed == 1
+        cachedFileIndex.checksAvoided == 1
+    }
+
+    def "decorated cache delegates to the indexed cache"() {
+        given:
+        def state = Stub(FileLock.State)
+
+        when:
+        decoratedCache.put("key", "value")
+        def value = decoratedCache.getIfPresent("key")
+        decoratedCache.remove("key")
+        decoratedCache.finishWork()
+        decoratedCache.beforeLockRelease(state)
+
+        then:
+        value == "value"
+        1 * indexedCache.put("key", "value")
+        1 * indexedCache.getIfPresent("key") >> "value"
+        1 * indexedCache.remove("key")
+        1 * indexedCache.finishWork()
+        1 * indexedCache.beforeLockRelease(state)
+        0 * indexedCache._
+    }
+}
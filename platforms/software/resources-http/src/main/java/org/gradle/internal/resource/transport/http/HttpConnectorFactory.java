@@ -17,6 +17,7 @@
 package org.gradle.internal.resource.transport.http;
 
 import com.google.common.collect.ImmutableSet;
+import org.apache.commons.lang.StringUtils;
 import org.gradle.authentication.Authentication;
 import org.gradle.authentication.http.BasicAuthentication;
 import org.gradle.authentication.http.DigestAuthentication;
@@ -26,10 +27,22 @@
 import org.gradle.internal.resource.connector.ResourceConnectorSpecification;
 import org.gradle.internal.resource.transfer.DefaultExternalResourceConnector;
 import org.gradle.internal.resource.transfer.ExternalResourceConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Set;
 
 public class HttpConnectorFactory implements ResourceConnectorFactory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpConnectorFactory.class);
+    public static final String MAX_CONNECTIONS_PER_HOST_SYSTEM_PROPERTY = "org.gradle.internal.http.repository.maxConnectionsPerHost";
+    /**
+     * The default number of concurrent connections to a single repository host, which is also the default total for a repository.
+     * Metadata and artifacts are downloaded concurrently without a bound on the number of downloads,
+     * so the connection pool effectively limits the download concurrency for a repository.
+     * A higher limit can be set with {@link #MAX_CONNECTIONS_PER_HOST_SYSTEM_PROPERTY}, for repositories known to handle more concurrent connections.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 20;
+
     private final static Set<String> SUPPORTED_PROTOCOLS = ImmutableSet.of("http", "https");
     private final static Set<Class<? extends Authentication>> SUPPORTED_AUTHENTICATION = ImmutableSet.of(
         BasicAuthentication.class,
@@ -40,10 +53,35 @@ public class HttpConnectorFactory implements ResourceConnectorFactory {
 
     private final SslContextFactory sslContextFactory;
     private final HttpClientHelper.Factory httpClientHelperFactory;
+    private final int maxConnectionsPerHost;
 
     public HttpConnectorFactory(SslContextFactory sslContextFactory, HttpClientHelper.Factory httpClientHelperFactory) {
         this.sslContextFactory = sslContextFactory;
         this.httpClientHelperFactory = httpClientHelperFactory;
+        this.maxConnectionsPerHost = initMaxConnectionsPerHost();
+    }
+
+    private static int initMaxConnectionsPerHost() {
+        String systemProperty = System.getProperty(MAX_CONNECTIONS_PER_HOST_SYSTEM_PROPERTY);
+
+        if (!StringUtils.isBlank(systemProperty)) {
+            try {
+                int value = Integer.parseInt(systemProperty);
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through
+            }
+            LOGGER.warn("Invalid value for java system property '{}': {}. Default '{}' will be used.",
+                MAX_CONNECTIONS_PER_HOST_SYSTEM_PROPERTY, systemProperty, DEFAULT_MAX_CONNECTIONS_PER_HOST);
+        }
+
+        return DEFAULT_MAX_CONNECTIONS_PER_HOST;
+    }
+
+    int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
     }
 
     @Override
@@ -58,12 +96,16 @@ public Set<Class<? extends Authentication>> getSupportedAuthentication() {
 
     @Override
     public ExternalResourceConnector createResourceConnector(ResourceConnectorSpecification connectionDetails) {
-        HttpClientHelper http = httpClientHelperFactory.create(DefaultHttpSettings.builder()
+        DefaultHttpSettings.Builder settings = DefaultHttpSettings.builder()
             .withAuthenticationSettings(connectionDetails.getAuthentications())
             .withSslContextFactory(sslContextFactory)
-            .withRedirectVerifier(connectionDetails.getRedirectVerifier())
-            .build()
-        );
+            .withRedirectVerifier(connectionDetails.getRedirectVerifier());
+        if (maxConnectionsPerHost != DEFAULT_MAX_CONNECTIONS_PER_HOST) {
+            // Leave room for the host that downloads are redirected to, such as a CDN
+            settings.maxConnTotal(2 * maxConnectionsPerHost)
+                .maxConnPerRoute(maxConnectionsPerHost);
+        }
+        HttpClientHelper http = httpClientHelperFactory.create(settings.build());
         HttpResourceAccessor accessor = new HttpResourceAccessor(http);
         HttpResourceLister lister = new HttpResourceLister(accessor);
         HttpResourceUploader uploader = new HttpResourceUploader(http);
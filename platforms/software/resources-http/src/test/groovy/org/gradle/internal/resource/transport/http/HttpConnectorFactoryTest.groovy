@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transport.http
+
+import org.gradle.internal.resource.connector.ResourceConnectorSpecification
+import org.gradle.util.SetSystemProperties
+import org.junit.Rule
+import spock.lang.Specification
+
+import static org.gradle.internal.resource.transport.http.HttpConnectorFactory.DEFAULT_MAX_CONNECTIONS_PER_HOST
+import static org.gradle.internal.resource.transport.http.HttpConnectorFactory.MAX_CONNECTIONS_PER_HOST_SYSTEM_PROPERTY
+
+class HttpConnectorFactoryTest extends Specification {
+
+    @Rule
+    SetSystemProperties setSystemProperties = new SetSystemProperties()
+
+    def httpClientHelperFactory = Mock(HttpClientHelper.Factory)
+
+    def "uses default connection limits when system property is not set"() {
+        def factory = newFactory()
+
+        when:
+        factory.createResourceConnector(new ResourceConnectorSpecification() {})
+
+        then:
+        factory.maxConnectionsPerHost == DEFAULT_MAX_CONNECTIONS_PER_HOST
+        1 * httpClientHelperFactory.create({ HttpSettings settings ->
+            settings.maxConnPerRoute == DEFAULT_MAX_CONNECTIONS_PER_HOST && settings.maxConnTotal == DEFAULT_MAX_CONNECTIONS_PER_HOST
+        })
+    }
+
+    def "can parse custom value from system property"() {
+        System.setProperty(MAX_CONNECTIONS_PER_HOST_SYSTEM_PROPERTY, "50")
+        def factory = newFactory()
+
+        when:
+        factory.createResourceConnector(new ResourceConnectorSpecification() {})
+
+        then:
+        factory.maxConnectionsPerHost == 50
+        1 * httpClientHelperFactory.create({ HttpSettings settings ->
+            settings.maxConnPerRoute == 50 && settings.maxConnTotal == 100
+        })
+    }
+
+    def "uses default value if provided max connections per host is not valid"() {
+        System.setProperty(MAX_CONNECTIONS_PER_HOST_SYSTEM_PROPERTY, value)
+
+        expect:
+        newFactory().maxConnectionsPerHost == DEFAULT_MAX_CONNECTIONS_PER_HOST
+
+        where:
+        value << ["", "abc", "0", "-1"]
+    }
+
+    private HttpConnectorFactory newFactory() {
+        new HttpConnectorFactory(Mock(SslContextFactory), httpClientHelperFactory)
+    }
+}
@@ -16,6 +16,7 @@
 package org.gradle.internal.resource.local;
 
 import org.gradle.api.Action;
+import org.gradle.internal.hash.HashCode;
 
 import java.io.File;
 
@@ -30,6 +31,15 @@
      */
     LocallyAvailableResource move(K key, File source) throws FileStoreException;
 
+    /**
+     * Moves the given file, whose SHA-1 checksum is already known, into the store.
+     *
+     * <p>Stores that organize their entries by checksum can use the given checksum instead of reading the file again.</p>
+     */
+    default LocallyAvailableResource move(K key, File source, HashCode sha1) throws FileStoreException {
+        return move(key, source);
+    }
+
     /**
      * Adds an entry to the store, using the given action to produce the file.
      *
@@ -302,6 +302,58 @@ public Selection<Node> selectNext() {
         return Selection.noWorkReadyToStart();
     }
 
+    @Override
+    public Selection<Node> selectNext(@Nullable Node lastExecuted) {
+        lockCoordinator.assertHasStateLock();
+        if (lastExecuted != null && maybeNodesSelectable && !readyNodes.isEmpty()) {
+            Node successor = selectReadyDependentOf(lastExecuted);
+            if (successor != null) {
+                return Selection.of(successor);
+            }
+        }
+        return selectNext();
+    }
+
+    /**
+     * Attempts to start one of the nodes that depend on the given node and are ready to run.
+     * Only considers nodes that can start without further work, everything else is left for {@link #selectNext()} to deal with.
+     */
+    @Nullable
+    private Node selectReadyDependentOf(Node node) {
+        List<Node> candidates = new ArrayList<>();
+        for (Node dependent : node.getDependencyPredecessors()) {
+            if (readyNodes.contains(dependent)) {
+                candidates.add(dependent);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        candidates.sort(NODE_EXECUTION_ORDER);
+
+        // Do not jump ahead of priority nodes
+        boolean priorityNodeWaiting = readyNodes.first().isPriority();
+        List<ResourceLock> resources = new ArrayList<>();
+        for (Node candidate : candidates) {
+            if (priorityNodeWaiting && !candidate.isPriority()) {
+                return null;
+            }
+            if (candidate.isComplete()
+                || !candidate.allDependenciesComplete()
+                || !candidate.allDependenciesSuccessful()
+                || candidate.hasPendingPreExecutionNodes()) {
+                continue;
+            }
+            if (attemptToStart(candidate, resources)) {
+                readyNodes.removeAndRestart(candidate);
+                waitingToStartNodes.remove(candidate);
+                candidate.getMutationInfo().started();
+                return candidate;
+            }
+        }
+        return null;
+    }
+
     private void addNodeToPlan(Node node) {
         maybeNodeReady(node);
         maybeWaitingForNewNode(node, "runtime");
@@ -698,6 +750,14 @@ public int size() {
             return nodes.size();
         }
 
+        public boolean contains(Node node) {
+            return nodes.contains(node);
+        }
+
+        public Node first() {
+            return nodes.iterator().next();
+        }
+
         public void restart() {
             current = nodes.iterator();
         }
@@ -27,6 +27,7 @@
 import org.gradle.internal.build.ExecutionResult;
 import org.gradle.internal.buildoption.InternalFlag;
 import org.gradle.internal.buildoption.InternalOptions;
+import org.gradle.internal.buildoption.StringInternalOption;
 import org.gradle.internal.concurrent.CompositeStoppable;
 import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.concurrent.ManagedExecutor;
@@ -39,9 +40,13 @@
 
 import javax.annotation.Nullable;
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.DecimalFormat;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -52,6 +57,7 @@
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.ToLongFunction;
 
@@ -61,6 +67,14 @@
 @NonNullApi
 public class DefaultPlanExecutor implements PlanExecutor, Stoppable {
     public static final InternalFlag STATS = new InternalFlag("org.gradle.internal.executor.stats");
+    /**
+     * When enabled, a worker prefers to run the items made ready by the item it has just finished, falling back to the shared queue when there are none.
+     */
+    public static final InternalFlag PREFER_DEPENDENTS = new InternalFlag("org.gradle.internal.executor.prefer-dependents");
+    /**
+     * When set, a timeline of the activity of each worker is written to the given file in Chrome trace format, which can be viewed using Perfetto or {@code chrome://tracing}.
+     */
+    public static final StringInternalOption TRACE = new StringInternalOption("org.gradle.internal.executor.trace", null);
     private static final Logger LOGGER = Logging.getLogger(DefaultPlanExecutor.class);
     private final WorkerLimits workerLimits;
     private final WorkerLeaseService workerLeaseService;
@@ -70,6 +84,7 @@ public class DefaultPlanExecutor implements PlanExecutor, Stoppable {
     private final MergedQueues queue;
     private final ExecutorState state = new ExecutorState();
     private final ExecutorStats stats;
+    private final boolean preferDependents;
 
     public DefaultPlanExecutor(
         WorkerLimits workerLimits,
@@ -83,7 +98,10 @@ public DefaultPlanExecutor(
         this.cancellationToken = cancellationToken;
         this.coordinationService = coordinationService;
         this.workerLeaseService = workerLeaseService;
-        this.stats = internalOptions.getOption(STATS).get() ? new CollectingExecutorStats(state) : state;
+        ExecutorStats stats = internalOptions.getOption(STATS).get() ? new CollectingExecutorStats(state) : state;
+        String traceFile = internalOptions.getOption(TRACE).get();
+        this.stats = traceFile != null ? new TracingExecutorStats(stats, new File(traceFile).getAbsoluteFile()) : stats;
+        this.preferDependents = internalOptions.getOption(PREFER_DEPENDENTS).get();
         this.queue = new MergedQueues(coordinationService, false);
         this.executor = executorFactory.create("Execution worker");
     }
@@ -108,7 +126,7 @@ public <T> ExecutionResult<Void> process(WorkSource<T> workSource, Action<T> wor
         WorkerLease currentWorkerLease = workerLeaseService.getCurrentWorkerLease();
         MergedQueues thisPlanOnly = new MergedQueues(coordinationService, true);
         thisPlanOnly.add(planDetails);
-        new ExecutorWorker(thisPlanOnly, currentWorkerLease, cancellationToken, coordinationService, workerLeaseService, stats).run();
+        new ExecutorWorker(thisPlanOnly, currentWorkerLease, cancellationToken, coordinationService, workerLeaseService, stats, preferDependents).run();
 
         List<Throwable> failures = new ArrayList<>();
         awaitCompletion(workSource, currentWorkerLease, failures);
@@ -178,7 +196,7 @@ private void maybeStartWorkers(MergedQueues queue, Executor executor) {
         state.maybeStartWorkers(() -> {
             LOGGER.debug("Using {} parallel executor threads", executorCount);
             for (int i = 1; i < executorCount; i++) {
-                executor.execute(new ExecutorWorker(queue, null, cancellationToken, coordinationService, workerLeaseService, stats));
+                executor.execute(new ExecutorWorker(queue, null, cancellationToken, coordinationService, workerLeaseService, stats, preferDependents));
             }
         });
     }
@@ -238,12 +256,17 @@ public WorkSource.State executionState() {
             }
         }
 
-        public WorkSource.Selection<WorkItem> selectNext() {
+        /**
+         * Selects the next item to run. When a previous item is provided, the plan that it came from is asked to prefer items that depend on it.
+         */
+        public WorkSource.Selection<WorkItem> selectNext(@Nullable WorkItem previous) {
             coordinationService.assertHasStateLock();
             Iterator<PlanDetails> iterator = queues.iterator();
             while (iterator.hasNext()) {
                 PlanDetails details = iterator.next();
-                WorkSource.Selection<Object> selection = details.source.selectNext();
+                WorkSource.Selection<Object> selection = previous != null && previous.plan == details.source
+                    ? details.source.selectNext(previous.selection.getItem())
+                    : details.source.selectNext();
                 if (selection.isNoMoreWorkToStart()) {
                     if (details.source.allExecutionComplete()) {
                         iterator.remove();
@@ -338,6 +361,9 @@ private static class ExecutorWorker implements Runnable {
         private final ResourceLockCoordinationService coordinationService;
         private final WorkerLeaseService workerLeaseService;
         private final WorkerStats stats;
+        private final boolean preferDependents;
+        @Nullable
+        private WorkItem previous;
 
         private ExecutorWorker(
             MergedQueues queue,
@@ -345,7 +371,8 @@ private ExecutorWorker(
             BuildCancellationToken cancellationToken,
             ResourceLockCoordinationService coordinationService,
             WorkerLeaseService workerLeaseService,
-            ExecutorStats executorStats
+            ExecutorStats executorStats,
+            boolean preferDependents
         ) {
             this.queue = queue;
             this.workerLease = workerLease;
@@ -353,6 +380,7 @@ private ExecutorWorker(
             this.coordinationService = coordinationService;
             this.workerLeaseService = workerLeaseService;
             this.stats = executorStats.startWorker();
+            this.preferDependents = preferDependents;
         }
 
         @Override
@@ -374,6 +402,9 @@ public void run() {
                     Object selected = workItem.selection.getItem();
                     LOGGER.info("{} ({}) started.", selected, Thread.currentThread());
                     execute(selected, workItem.plan, workItem.executor);
+                    if (preferDependents) {
+                        previous = workItem;
+                    }
                 }
 
                 if (releaseLeaseOnCompletion) {
@@ -408,6 +439,7 @@ private WorkItem getNextItem(final WorkerLease workerLease) {
                     }
 
                     if (!workerLease.tryLock()) {
+                        stats.startWaitingForWorkerLease();
                         // Cannot get a lease to run work
                         // Do not call `startWaitingForNextItem()` as there may be work available but this worker cannot start it, and so should not be considered "waiting for work".
                         // The health monitoring is currently only concerned with whether work can be started.
@@ -426,12 +458,14 @@ private WorkItem getNextItem(final WorkerLease workerLease) {
 
                     WorkSource.Selection<WorkItem> workItem;
                     try {
-                        workItem = queue.selectNext();
+                        workItem = queue.selectNext(previous);
                     } catch (Throwable t) {
                         resourceLockState.releaseLocks();
                         queue.abortAllAndFail(t);
                         return FINISHED;
                     }
+                    // Only prefer the dependents of an item immediately after it completes, as other workers may have already picked them up
+                    previous = null;
                     if (workItem.isNoMoreWorkToStart()) {
                         return FINISHED;
                     } else if (workItem.isNoWorkReadyToStart()) {
@@ -454,7 +488,7 @@ private WorkItem getNextItem(final WorkerLease workerLease) {
         private void execute(Object selected, WorkSource<Object> executionPlan, Action<Object> worker) {
             Throwable failure = null;
             try {
-                stats.startExecute();
+                stats.startExecute(selected);
                 try {
                     worker.execute(selected);
                 } catch (Throwable t) {
@@ -510,9 +544,11 @@ private interface WorkerState {
     private interface WorkerStats extends WorkerState {
         void startSelect();
 
+        void startWaitingForWorkerLease();
+
         void finishSelect();
 
-        void startExecute();
+        void startExecute(Object item);
 
         void finishExecute();
 
@@ -606,12 +642,16 @@ private static class WorkerState implements WorkerStats {
             public void startSelect() {
             }
 
+            @Override
+            public void startWaitingForWorkerLease() {
+            }
+
             @Override
             public void finishSelect() {
             }
 
             @Override
-            public void startExecute() {
+            public void startExecute(Object item) {
             }
 
             @Override
@@ -711,6 +751,10 @@ public void startSelect() {
             startCurrentOperation = System.nanoTime();
         }
 
+        @Override
+        public void startWaitingForWorkerLease() {
+        }
+
         @Override
         public void finishSelect() {
             long duration = System.nanoTime() - startCurrentOperation;
@@ -720,7 +764,7 @@ public void finishSelect() {
         }
 
         @Override
-        public void startExecute() {
+        public void startExecute(Object item) {
             startCurrentOperation = System.nanoTime();
         }
 
@@ -755,4 +799,208 @@ public void finishWaitingForNextItem() {
             delegate.finishWaitingForNextItem();
         }
     }
+
+    /**
+     * Records a timeline of the activity of each worker and writes it as a Chrome trace file when reported.
+     */
+    private static class TracingExecutorStats implements ExecutorStats {
+        private final ExecutorStats delegate;
+        private final File traceFile;
+        private final long startTime = System.nanoTime();
+        private final AtomicInteger workerCount = new AtomicInteger();
+        private final List<TracingWorkerStats> completedWorkers = new CopyOnWriteArrayList<>();
+
+        public TracingExecutorStats(ExecutorStats delegate, File traceFile) {
+            this.delegate = delegate;
+            this.traceFile = traceFile;
+        }
+
+        @Override
+        public WorkerStats startWorker() {
+            return new TracingWorkerStats(this, workerCount.incrementAndGet(), delegate.startWorker());
+        }
+
+        void workerFinished(TracingWorkerStats stats) {
+            completedWorkers.add(stats);
+        }
+
+        @Override
+        public void report() {
+            try {
+                if (!completedWorkers.isEmpty()) {
+                    writeTrace();
+                }
+            } finally {
+                completedWorkers.clear();
+                delegate.report();
+            }
+        }
+
+        private void writeTrace() {
+            try {
+                Files.createDirectories(traceFile.getParentFile().toPath());
+                try (Writer writer = Files.newBufferedWriter(traceFile.toPath(), StandardCharsets.UTF_8)) {
+                    writer.write("{\"traceEvents\":[");
+                    boolean first = true;
+                    for (TracingWorkerStats worker : completedWorkers) {
+                        if (!first) {
+                            writer.write(",");
+                        }
+                        first = false;
+                        writer.write("\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + worker.id + ",\"args\":{\"name\":\"" + escape(worker.threadName) + "\"}}");
+                        for (TraceEvent event : worker.events) {
+                            writer.write(",\n{\"name\":\"" + escape(event.name) + "\",\"cat\":\"" + event.category + "\",\"ph\":\"X\",\"pid\":1,\"tid\":" + worker.id
+                                + ",\"ts\":" + toMicros(event.startTime - startTime) + ",\"dur\":" + toMicros(event.endTime - event.startTime) + "}");
+                        }
+                    }
+                    writer.write("\n]}\n");
+                }
+                LOGGER.lifecycle("Executor trace written to {}", traceFile);
+            } catch (IOException e) {
+                LOGGER.warn("Could not write executor trace to {}", traceFile, e);
+            }
+        }
+
+        private static long toMicros(long nanos) {
+            return Math.max(0, nanos / 1000);
+        }
+
+        private static String escape(String value) {
+            StringBuilder builder = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char ch = value.charAt(i);
+                if (ch == '"' || ch == '\\') {
+                    builder.append('\\').append(ch);
+                } else if (ch < 0x20) {
+                    builder.append(String.format("\\u%04x", (int) ch));
+                } else {
+                    builder.append(ch);
+                }
+            }
+            return builder.toString();
+        }
+    }
+
+    private static class TraceEvent {
+        final String name;
+        final String category;
+        final long startTime;
+        final long endTime;
+
+        TraceEvent(String name, String category, long startTime, long endTime) {
+            this.name = name;
+            this.category = category;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+    }
+
+    /**
+     * Splits the time of a worker into phases. Only the worker thread records events, and the events are published to the reporting thread when the worker finishes.
+     */
+    private static class TracingWorkerStats implements WorkerStats {
+        private static final String WAITING_FOR_STATE_LOCK = "waiting for state lock";
+        private static final String WAITING_FOR_WORKER_LEASE = "waiting for worker lease";
+        private static final String WAITING_FOR_DEPENDENCIES = "waiting for dependencies";
+        private static final String SELECTING = "selecting";
+        private static final String FINISHING = "finishing";
+
+        private final TracingExecutorStats owner;
+        private final int id;
+        private final WorkerStats delegate;
+        private final List<TraceEvent> events = new ArrayList<>();
+        private String threadName = "";
+        @Nullable
+        private String currentPhase;
+        private String currentCategory = "";
+        private long currentPhaseStart;
+
+        public TracingWorkerStats(TracingExecutorStats owner, int id, WorkerStats delegate) {
+            this.owner = owner;
+            this.id = id;
+            this.delegate = delegate;
+        }
+
+        private void startPhase(String phase, String category) {
+            long now = System.nanoTime();
+            endPhase(now);
+            currentPhase = phase;
+            currentCategory = category;
+            currentPhaseStart = now;
+        }
+
+        private void endPhase(long now) {
+            if (currentPhase != null) {
+                events.add(new TraceEvent(currentPhase, currentCategory, currentPhaseStart, now));
+                currentPhase = null;
+            }
+        }
+
+        @Override
+        public void startSelect() {
+            // Worker statistics are created by the thread that starts the worker, so capture the name of the worker thread here
+            threadName = Thread.currentThread().getName();
+            startPhase(WAITING_FOR_STATE_LOCK, "idle");
+            delegate.startSelect();
+        }
+
+        @Override
+        public void finishWaitingForNextItem() {
+            // Called each time the worker holds the state lock and attempts to select an item
+            startPhase(SELECTING, "scheduling");
+            delegate.finishWaitingForNextItem();
+        }
+
+        @Override
+        public void startWaitingForWorkerLease() {
+            startPhase(WAITING_FOR_WORKER_LEASE, "idle");
+            delegate.startWaitingForWorkerLease();
+        }
+
+        @Override
+        public void startWaitingForNextItem() {
+            startPhase(WAITING_FOR_DEPENDENCIES, "idle");
+            delegate.startWaitingForNextItem();
+        }
+
+        @Override
+        public void finishSelect() {
+            endPhase(System.nanoTime());
+            delegate.finishSelect();
+        }
+
+        @Override
+        public void startExecute(Object item) {
+            startPhase(item.toString(), "running");
+            delegate.startExecute(item);
+        }
+
+        @Override
+        public void finishExecute() {
+            endPhase(System.nanoTime());
+            delegate.finishExecute();
+        }
+
+        @Override
+        public void startMarkFinished() {
+            startPhase(FINISHING, "scheduling");
+            delegate.startMarkFinished();
+        }
+
+        @Override
+        public void finishMarkFinished() {
+            endPhase(System.nanoTime());
+            delegate.finishMarkFinished();
+        }
+
+        @Override
+        public void finish() {
+            endPhase(System.nanoTime());
+            try {
+                delegate.finish();
+            } finally {
+                owner.workerFinished(this);
+            }
+        }
+    }
 }
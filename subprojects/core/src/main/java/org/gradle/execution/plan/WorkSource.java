@@ -185,6 +185,19 @@ public void describeTo(TreeFormatter formatter) {
      */
     Selection<T> selectNext();
 
+    /**
+     * Selects a work item to start, as for {@link #selectNext()}, preferring items that became ready when the given item completed.
+     * This allows a worker thread to keep working on related items, which tend to share classloaders, caches and project state.
+     * Items that are not related to the given item are still selected when no related item can be started.
+     *
+     * <p>Note: the caller must hold a worker lease.</p>
+     *
+     * <p>The default implementation ignores the given item.</p>
+     */
+    default Selection<T> selectNext(@Nullable T lastExecuted) {
+        return selectNext();
+    }
+
     void finishedExecuting(T item, @Nullable Throwable failure);
 
     void abortAllAndFail(Throwable t);
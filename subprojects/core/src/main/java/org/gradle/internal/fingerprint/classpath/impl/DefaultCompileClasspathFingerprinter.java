@@ -26,6 +26,12 @@
 import org.gradle.internal.fingerprint.classpath.CompileClasspathFingerprinter;
 import org.gradle.internal.fingerprint.impl.AbstractFileCollectionFingerprinter;
 
+/**
+ * Fingerprints compile classpaths by the ABI of the classes they contain.
+ *
+ * <p>The ABI hashes of class files and archives are stored in the {@link ResourceSnapshotterCacheService}, keyed by their content hash.
+ * The ABI of a library is therefore only extracted once, and then shared by all projects and builds that have the library on their compile classpath.</p>
+ */
 public class DefaultCompileClasspathFingerprinter extends AbstractFileCollectionFingerprinter implements CompileClasspathFingerprinter {
     public DefaultCompileClasspathFingerprinter(ResourceSnapshotterCacheService cacheService, FileCollectionSnapshotter fileCollectionSnapshotter, StringInterner stringInterner) {
         super(ClasspathFingerprintingStrategy.compileClasspath(
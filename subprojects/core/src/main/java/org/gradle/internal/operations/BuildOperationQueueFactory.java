@@ -20,4 +20,10 @@
 
 public interface BuildOperationQueueFactory {
     <T extends BuildOperation> BuildOperationQueue<T> create(ManagedExecutor executor, boolean allowAccessToProjectState, BuildOperationQueue.QueueWorker<T> worker);
+
+    /**
+     * Creates a queue for operations that spend most of their time blocked, for example waiting on network I/O.
+     * The operations are run without holding a worker lease, and so are not limited by the maximum number of workers.
+     */
+    <T extends BuildOperation> BuildOperationQueue<T> createForBlockingOperations(ManagedExecutor executor, BuildOperationQueue.QueueWorker<T> worker);
 }
@@ -53,6 +53,7 @@ public DefaultBuildOperationExecutor(
         this.buildOperationQueueFactory = buildOperationQueueFactory;
         managedExecutors.put(BuildOperationConstraint.MAX_WORKERS, executorFactory.create("Build operations", workerLimits.getMaxWorkerCount()));
         managedExecutors.put(BuildOperationConstraint.UNCONSTRAINED, executorFactory.create("Unconstrained build operations", workerLimits.getMaxWorkerCount() * 10));
+        managedExecutors.put(BuildOperationConstraint.IO_BOUND, executorFactory.createForBlockingActions("I/O bound build operations"));
     }
 
     @Override
@@ -92,7 +93,9 @@ private BuildOperationState getCurrentBuildOperation() {
 
     private <O extends BuildOperation> void executeInParallel(boolean allowAccessToProjectState, BuildOperationQueue.QueueWorker<O> worker, Action<BuildOperationQueue<O>> queueAction, BuildOperationConstraint buildOperationConstraint) {
         ManagedExecutor executor = managedExecutors.get(buildOperationConstraint);
-        BuildOperationQueue<O> queue = buildOperationQueueFactory.create(executor, allowAccessToProjectState, worker);
+        BuildOperationQueue<O> queue = buildOperationConstraint == BuildOperationConstraint.IO_BOUND && !allowAccessToProjectState
+            ? buildOperationQueueFactory.createForBlockingOperations(executor, worker)
+            : buildOperationQueueFactory.create(executor, allowAccessToProjectState, worker);
 
         List<GradleException> failures = new ArrayList<>();
         try {
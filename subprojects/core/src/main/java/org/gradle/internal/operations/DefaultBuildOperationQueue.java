@@ -31,7 +31,13 @@ private enum QueueState {
         Working, Finishing, Cancelled, Done
     }
 
+    /**
+     * The number of operations that can run concurrently per worker lease, when the operations are blocking.
+     */
+    private static final int BLOCKING_OPERATIONS_PER_WORKER = 10;
+
     private final boolean allowAccessToProjectState;
+    private final boolean blockingOperations;
     private final WorkerLeaseService workerLeases;
     private final Executor executor;
     private final QueueWorker<T> queueWorker;
@@ -48,7 +54,15 @@ private enum QueueState {
     private final LinkedList<Throwable> failures = new LinkedList<>();
 
     DefaultBuildOperationQueue(boolean allowAccessToProjectState, WorkerLeaseService workerLeases, Executor executor, QueueWorker<T> queueWorker) {
+        this(allowAccessToProjectState, false, workerLeases, executor, queueWorker);
+    }
+
+    /**
+     * @param blockingOperations when true, the operations spend most of their time blocked and are run without holding a worker lease.
+     */
+    DefaultBuildOperationQueue(boolean allowAccessToProjectState, boolean blockingOperations, WorkerLeaseService workerLeases, Executor executor, QueueWorker<T> queueWorker) {
         this.allowAccessToProjectState = allowAccessToProjectState;
+        this.blockingOperations = blockingOperations;
         this.workerLeases = workerLeases;
         this.executor = executor;
         this.queueWorker = queueWorker;
@@ -67,7 +81,7 @@ public void add(final T operation) {
             workQueue.add(operation);
             pendingOperations++;
             workAvailable.signalAll();
-            if (workerCount == 0 || workerCount < workerLeases.getMaxWorkerCount() - 1) {
+            if (workerCount == 0 || workerCount < maxWorkerCount()) {
                 // `getMaxWorkerCount() - 1` because main thread executes work as well. See https://github.com/gradle/gradle/issues/3273
                 // TODO This could be more efficient, so that we only start a worker when there are none idle _and_ there is a worker lease available
                 executor.execute(new WorkerRunnable());
@@ -78,6 +92,13 @@ public void add(final T operation) {
         }
     }
 
+    private int maxWorkerCount() {
+        if (blockingOperations) {
+            return workerLeases.getMaxWorkerCount() * BLOCKING_OPERATIONS_PER_WORKER - 1;
+        }
+        return workerLeases.getMaxWorkerCount() - 1;
+    }
+
     @Override
     public void cancel() {
         lock.lock();
@@ -216,6 +237,10 @@ private T waitForNextOperation() {
         }
 
         private void runBatch(final T firstOperation) {
+            if (blockingOperations) {
+                runBlockingBatch(firstOperation);
+                return;
+            }
             // We need to update pending count outside of withLocks() so that we don't have a race
             // condition where the pending count is 0, but a child worker lease is still held when
             // the parent lease is released.
@@ -241,6 +266,15 @@ private void runBatch(final T firstOperation) {
             );
         }
 
+        private void runBlockingBatch(final T firstOperation) {
+            // The operations spend most of their time blocked, so run them using a temporary lease rather than tying up one of the worker leases
+            int[] operationCount = new int[1];
+            workerLeases.runAsUnmanagedWorkerThread(() ->
+                operationCount[0] = workerLeases.whileDisallowingProjectLockChanges(() -> doRunBatch(firstOperation))
+            );
+            completeOperations(operationCount[0]);
+        }
+
         private int doRunBatch(T firstOperation) {
             int operationCount = 0;
             T operation = firstOperation;
@@ -33,4 +33,11 @@ public DefaultBuildOperationQueueFactory(WorkerLeaseService workerLeaseService)
         workerLeaseService.getCurrentWorkerLease();
         return new DefaultBuildOperationQueue<>(allowAccessToProjectState, workerLeaseService, executor, worker);
     }
+
+    @Override
+    public <T extends BuildOperation> BuildOperationQueue<T> createForBlockingOperations(ManagedExecutor executor, BuildOperationQueue.QueueWorker<T> worker) {
+        // Assert that the current thread is a worker
+        workerLeaseService.getCurrentWorkerLease();
+        return new DefaultBuildOperationQueue<>(false, true, workerLeaseService, executor, worker);
+    }
 }
@@ -78,6 +78,39 @@ class DefaultResourceSnapshotterCacheServiceTest extends Specification {
         0 * _
     }
 
+    def "shares the result between files with the same content"() {
+        def expectedHash = TestHashCodes.hashCodeFrom(123)
+        def otherPath = "other"
+        def otherSnapshot = new RegularFileSnapshot(otherPath, "other", snapshot.hash, DefaultFileMetadata.file(1234, 456, FileMetadata.AccessType.DIRECT))
+        def otherSnapshotContext = new DefaultRegularFileSnapshotContext({otherPath}, otherSnapshot)
+
+        when:
+        def actualHash = snapshotterCache.hashFile(snapshotContext, delegate, configurationHash)
+        then:
+        1 * delegate.hash(snapshotContext) >> expectedHash
+        actualHash == expectedHash
+        0 * _
+
+        when:
+        actualHash = snapshotterCache.hashFile(otherSnapshotContext, delegate, configurationHash)
+        then:
+        actualHash == expectedHash
+        0 * _
+    }
+
+    def "does not share the result between different configurations"() {
+        def hasher = Hashing.newHasher()
+        hasher.putString("other configuration")
+        def otherConfigurationHash = hasher.hash()
+
+        when:
+        snapshotterCache.hashFile(snapshotContext, delegate, configurationHash)
+        snapshotterCache.hashFile(snapshotContext, delegate, otherConfigurationHash)
+        then:
+        2 * delegate.hash(snapshotContext) >> TestHashCodes.hashCodeFrom(123)
+        0 * _
+    }
+
     private HashCode getConfigurationHash() {
         def hasher = Hashing.newHasher()
         hasher.putString(delegate.getClass().getName())
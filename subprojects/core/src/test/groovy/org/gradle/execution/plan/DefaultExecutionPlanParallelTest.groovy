@@ -2061,6 +2061,31 @@ class DefaultExecutionPlanParallelTest extends AbstractExecutionPlanSpec {
         continueOnFailure << [false, true]
     }
 
+    def "can prefer nodes that depend on the previously executed node"() {
+        def dep = node("dep")
+        def other = node("other")
+        def dependent = node("dependent", dependsOn: dep)
+
+        when:
+        addToGraph(dep, other, dependent)
+        populateGraph()
+
+        def first = selectNextNode()
+        finishedExecuting(first)
+        def second = null
+        coordinator.withStateLock {
+            second = finalizedPlan.selectNext(first).item
+        }
+        finishedExecuting(second)
+
+        then:
+        scheduledNodes == [dep, other, dependent]
+        first == dep
+        second == dependent
+        assertNodeReadyAndNoMoreToStart(other)
+        assertAllWorkComplete()
+    }
+
     private void tasksAreNotExecutedInParallel(Task first, Task second) {
         addToGraphAndPopulate(first, second)
 
@@ -16,6 +16,7 @@
 
 package org.gradle.execution.plan
 
+import groovy.json.JsonSlurper
 import org.gradle.api.Action
 import org.gradle.api.Project
 import org.gradle.api.internal.TaskInternal
@@ -28,9 +29,13 @@ import org.gradle.internal.resources.DefaultResourceLockCoordinationService
 import org.gradle.internal.work.DefaultWorkerLimits
 import org.gradle.internal.work.WorkerLeaseRegistry
 import org.gradle.internal.work.WorkerLeaseService
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
 import spock.lang.Specification
 
 class DefaultPlanExecutorTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider temporaryFolder = TestNameTestDirectoryProvider.newInstance(getClass())
     def workSource = Mock(WorkSource)
     def worker = Mock(Action)
     def executorFactory = Mock(ExecutorFactory)
@@ -113,4 +118,67 @@ class DefaultPlanExecutorTest extends Specification {
         1 * workSource.collectFailures([])
         0 * workSource._
     }
+
+    def "prefers dependents of the previous item when enabled"() {
+        def preferringExecutor = new DefaultPlanExecutor(new DefaultWorkerLimits(1), executorFactory, workerLeaseService, cancellationHandler, coordinationService, new DefaultInternalOptions([(DefaultPlanExecutor.PREFER_DEPENDENTS.systemPropertyName): "true"]))
+        def node1 = Mock(LocalTaskNode)
+        def node2 = Mock(LocalTaskNode)
+
+        when:
+        def result = preferringExecutor.process(workSource, worker)
+
+        then:
+        result.failures.empty
+        1 * workerLeaseService.currentWorkerLease >> workerLease
+
+        then:
+        1 * cancellationHandler.isCancellationRequested() >> false
+        1 * workerLease.tryLock() >> true
+        1 * workSource.executionState() >> WorkSource.State.MaybeWorkReadyToStart
+        1 * workSource.selectNext() >> WorkSource.Selection.of(node1)
+        1 * worker.execute(node1)
+        1 * workSource.finishedExecuting(node1, null)
+
+        then:
+        1 * cancellationHandler.isCancellationRequested() >> false
+        1 * workerLease.tryLock() >> true
+        1 * workSource.executionState() >> WorkSource.State.MaybeWorkReadyToStart
+        1 * workSource.selectNext(node1) >> WorkSource.Selection.of(node2)
+        1 * worker.execute(node2)
+        1 * workSource.finishedExecuting(node2, null)
+
+        then:
+        1 * cancellationHandler.isCancellationRequested() >> false
+        1 * workSource.executionState() >> WorkSource.State.NoMoreWorkToStart
+
+        then:
+        1 * workerLease.tryLock() >> true
+        3 * workSource.allExecutionComplete() >> true
+        1 * workSource.collectFailures([])
+        0 * workSource._
+    }
+
+    def "writes trace of worker activity when enabled"() {
+        def traceFile = temporaryFolder.file("trace/executor.json")
+        def tracingExecutor = new DefaultPlanExecutor(new DefaultWorkerLimits(1), executorFactory, workerLeaseService, cancellationHandler, coordinationService, new DefaultInternalOptions([(DefaultPlanExecutor.TRACE.systemPropertyName): traceFile.absolutePath]))
+        def node = "task :a"
+
+        when:
+        def result = tracingExecutor.process(workSource, worker)
+        tracingExecutor.stop()
+
+        then:
+        result.failures.empty
+        1 * workerLeaseService.currentWorkerLease >> workerLease
+        _ * workerLease.tryLock() >> true
+        1 * workSource.selectNext() >> WorkSource.Selection.of(node)
+        2 * workSource.executionState() >>> [WorkSource.State.MaybeWorkReadyToStart, WorkSource.State.NoMoreWorkToStart]
+        _ * workSource.allExecutionComplete() >> true
+
+        and:
+        traceFile.file
+        def trace = new JsonSlurper().parse(traceFile)
+        trace.traceEvents.find { it.ph == "X" && it.cat == "running" }.name == "task :a"
+        trace.traceEvents.any { it.ph == "X" && it.name == "selecting" }
+    }
 }
@@ -262,6 +262,24 @@ class DefaultBuildOperationQueueTest extends Specification {
         5    | 10
     }
 
+    def "blocking operations do not hold worker leases and can run more concurrently than the maximum number of workers"() {
+        given:
+        setupQueue(1)
+        def runs = 5
+        def startedLatch = new CountDownLatch(runs)
+        def releaseLatch = new CountDownLatch(1)
+        operationQueue = new DefaultBuildOperationQueue(false, true, workerRegistry, Executors.newCachedThreadPool(), new SimpleWorker())
+
+        when:
+        runs.times { operationQueue.add(new SynchronizedBuildOperation({}, startedLatch, releaseLatch)) }
+        def allStarted = startedLatch.await(30, TimeUnit.SECONDS)
+        releaseLatch.countDown()
+        operationQueue.waitForCompletion()
+
+        then:
+        allStarted
+    }
+
     static class SynchronizedBuildOperation extends TestBuildOperation {
         final Runnable operationAction
         final CountDownLatch startedLatch